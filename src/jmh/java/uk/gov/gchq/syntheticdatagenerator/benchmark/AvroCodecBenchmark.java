@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.gchq.syntheticdatagenerator.serialise.AvroSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Teacher;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @brief Measures Avro serialisation throughput and file size for each codec, sync interval and buffer size
+ * @details Records are generated once up front, so only encoding and compression are measured. The output is
+ * counted and discarded. Divide the {@code bytes} rate by the {@code records} rate for bytes per record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvroCodecBenchmark {
+    private static final int RECORDS = 2_000;
+
+    @Param({"employee", "teacher"})
+    public String type;
+
+    @Param({"null", "deflate:1", "deflate:6", "snappy", "zstandard:3", "bzip2"})
+    public String codec;
+
+    @Param({"16000", "1048576"})
+    public int syncInterval;
+
+    @Param({"65536"})
+    public int bufferSize;
+
+    private List<Object> records;
+    private AvroSerialiser<Object> serialiser;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Random random = RandomEngine.XOSHIRO.create(0L);
+        Class<?> domainClass = "teacher".equals(type) ? Teacher.class : Employee.class;
+        Function<Random, Object> generator = "teacher".equals(type) ? Teacher::generate : Employee::generate;
+        records = Stream.generate(() -> generator.apply(random)).limit(RECORDS).collect(Collectors.toList());
+        serialiser = new AvroSerialiser<>((Class<Object>) domainClass, null, AvroSerialiser.parseCodec(codec), syncInterval);
+    }
+
+    @Benchmark
+    public void serialise(final Counters counters) throws IOException {
+        CountingOutputStream counting = new CountingOutputStream();
+        try (OutputStream out = new BufferedOutputStream(counting, bufferSize)) {
+            serialiser.serialise(records.stream(), out);
+        }
+        counters.bytes += counting.count;
+        counters.records += RECORDS;
+    }
+
+    /**
+     * @brief Bytes written and records serialised, reported as rates
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long bytes;
+        public long records;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            records = 0;
+        }
+    }
+
+    /**
+     * @brief Output stream which only counts the bytes written to it
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+}
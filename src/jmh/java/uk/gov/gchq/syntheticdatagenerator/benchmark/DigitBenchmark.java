@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.gchq.syntheticdatagenerator.types.BankDetails;
+import uk.gov.gchq.syntheticdatagenerator.types.PhoneNumber;
+import uk.gov.gchq.syntheticdatagenerator.utils.DigitHelper;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @brief Compares zero padded number formatting through {@link String#format} with {@link DigitHelper}
+ * @details Run with the gc profiler (the default of the benchmark profile) to see the bytes allocated per operation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DigitBenchmark {
+    private static final int PHONE_NUMBER_LENGTH = 10;
+
+    private final Random random = RandomEngine.XOSHIRO.create(0L);
+
+    @Benchmark
+    public String phoneNumberStringFormat() {
+        return String.format("0%0" + PHONE_NUMBER_LENGTH + "d", random.nextInt((int) Math.pow(10, PHONE_NUMBER_LENGTH)));
+    }
+
+    @Benchmark
+    public String phoneNumberDigitHelper() {
+        return DigitHelper.randomDigits(random, "0", PHONE_NUMBER_LENGTH);
+    }
+
+    @Benchmark
+    public PhoneNumber[] phoneNumberGenerateMany() {
+        return PhoneNumber.generateMany(random);
+    }
+
+    @Benchmark
+    public BankDetails bankDetailsGenerate() {
+        return BankDetails.generate(random);
+    }
+}
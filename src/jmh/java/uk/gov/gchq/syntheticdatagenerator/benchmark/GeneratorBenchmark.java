@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.gchq.syntheticdatagenerator.types.Address;
+import uk.gov.gchq.syntheticdatagenerator.types.DataBackend;
+import uk.gov.gchq.syntheticdatagenerator.types.EmergencyContact;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Manager;
+import uk.gov.gchq.syntheticdatagenerator.types.PhoneNumber;
+import uk.gov.gchq.syntheticdatagenerator.types.Teacher;
+import uk.gov.gchq.syntheticdatagenerator.utils.DateHelper;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @brief Measures the record generators and each of the generators they are built from
+ * @details Scores are operations per second. The gc profiler, on by default in the benchmark profile, adds the
+ * bytes allocated per operation ({@code gc.alloc.rate.norm}). Benchmarks which do not use the backend give the
+ * same score for both.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+    // depth of the manager trees of records, which is 3 to 5
+    private static final int MANAGER_CHAIN = 3;
+
+    @Param({"faker", "native"})
+    public String backend;
+
+    private DataBackend dataBackend;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataBackend = DataBackend.fromName(backend);
+        random = RandomEngine.XOSHIRO.create(0L);
+    }
+
+    @Benchmark
+    public Employee employee() {
+        return Employee.generate(random, dataBackend);
+    }
+
+    @Benchmark
+    public Teacher teacher() {
+        return Teacher.generate(random, dataBackend);
+    }
+
+    @Benchmark
+    public Address address() {
+        return Address.generate(dataBackend, random);
+    }
+
+    @Benchmark
+    public EmergencyContact[] emergencyContacts() {
+        return EmergencyContact.generateMany(dataBackend, random);
+    }
+
+    @Benchmark
+    public PhoneNumber[] phoneNumbers() {
+        return PhoneNumber.generateMany(random);
+    }
+
+    @Benchmark
+    public Manager[] managers() {
+        return Manager.generateMany(random, MANAGER_CHAIN);
+    }
+
+    @Benchmark
+    public int dateOfBirth() {
+        return DateHelper.generateDateOfBirthEpochDay(random);
+    }
+
+    @Benchmark
+    public int hireDate() {
+        return DateHelper.generateHireDateEpochDay(DateHelper.generateDateOfBirthEpochDay(random), random);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.gchq.syntheticdatagenerator.serialise.AvroSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.JSONSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.Serialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.DataBackend;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.utils.ChannelOutputStream;
+import uk.gov.gchq.syntheticdatagenerator.utils.MappedOutputStream;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @brief Measures the ways CreateData can write the bytes of a data file to disk
+ * @details Records are generated once up front with the native backend and written to a temporary file through a
+ * bare {@link FileOutputStream}, the 64KB buffered stream CreateData uses by default, a channel with a 64KB direct
+ * buffer and 64MB memory mapped regions. Scores are files per second; the {@code bytes} counter is the rate in bytes
+ * per second and {@code writes} the rate of write or map system calls.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputBenchmark {
+    private static final int RECORDS = 2_000;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int REGION_SIZE = 1 << 26;
+
+    @Param({"unbuffered", "stream", "channel", "mmap"})
+    public String io;
+
+    @Param({"avro", "json"})
+    public String format;
+
+    private List<Employee> records;
+    private Serialiser<Employee> serialiser;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = RandomEngine.XOSHIRO.create(0L);
+        records = Stream.generate(() -> Employee.generate(random, DataBackend.NATIVE)).limit(RECORDS)
+                .collect(Collectors.toList());
+        serialiser = "json".equals(format) ? new JSONSerialiser<>(Employee.class)
+                : new AvroSerialiser<>(Employee.class, SeedHelper.syncMarker(0L));
+        file = File.createTempFile("output-benchmark", "." + format);
+        file.deleteOnExit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void write(final Counters counters) throws IOException {
+        switch (io) {
+            case "channel":
+                ChannelOutputStream channel = new ChannelOutputStream(file, false, BUFFER_SIZE);
+                try (OutputStream out = channel) {
+                    serialiser.serialise(records.stream(), out);
+                }
+                counters.writes += channel.getWriteCount();
+                break;
+            case "mmap":
+                MappedOutputStream mapped = new MappedOutputStream(file, false, REGION_SIZE);
+                try (OutputStream out = mapped) {
+                    serialiser.serialise(records.stream(), out);
+                }
+                counters.writes += mapped.getMapCount();
+                break;
+            default:
+                CountingFileOutputStream counting = new CountingFileOutputStream(file);
+                try (OutputStream out = "stream".equals(io) ? new BufferedOutputStream(counting, BUFFER_SIZE) : counting) {
+                    serialiser.serialise(records.stream(), out);
+                }
+                counters.writes += counting.writes;
+        }
+        counters.bytes += file.length();
+    }
+
+    /**
+     * @brief Bytes written and system calls made, reported as rates
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long bytes;
+        public long writes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            writes = 0;
+        }
+    }
+
+    /**
+     * @brief File output stream which counts its writes, each one a system call
+     */
+    private static final class CountingFileOutputStream extends FileOutputStream {
+        private long writes;
+
+        CountingFileOutputStream(final File file) throws IOException {
+            super(file);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            writes++;
+            super.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            writes++;
+            super.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.gchq.syntheticdatagenerator.serialise.AvroSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.CsvSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.JSONSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.Serialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.DataBackend;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Teacher;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @brief Measures the throughput of the serialisers with the settings CreateData uses by default
+ * @details Records are generated once up front with the native backend and written to a discarding stream behind
+ * the default 64KB buffer, so only the encoding is measured. Scores are records per second, and with the gc profiler
+ * {@code gc.alloc.rate.norm} is the bytes allocated per record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerialiserBenchmark {
+    private static final int RECORDS = 2_000;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Param({"employee", "teacher"})
+    public String type;
+
+    @Param({"avro", "json", "csv"})
+    public String format;
+
+    private List<Object> records;
+    private Serialiser<Object> serialiser;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Random random = RandomEngine.XOSHIRO.create(0L);
+        Class<?> domainClass = "teacher".equals(type) ? Teacher.class : Employee.class;
+        Function<Random, Object> generator = "teacher".equals(type)
+                ? source -> Teacher.generate(source, DataBackend.NATIVE)
+                : source -> Employee.generate(source, DataBackend.NATIVE);
+        records = Stream.generate(() -> generator.apply(random)).limit(RECORDS).collect(Collectors.toList());
+        switch (format) {
+            case "json":
+                serialiser = new JSONSerialiser<>((Class<Object>) domainClass);
+                break;
+            case "csv":
+                serialiser = new CsvSerialiser<>((Class<Object>) domainClass);
+                break;
+            default:
+                serialiser = new AvroSerialiser<>((Class<Object>) domainClass, SeedHelper.syncMarker(0L));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void serialise() throws IOException {
+        try (OutputStream out = new BufferedOutputStream(DISCARD, BUFFER_SIZE)) {
+            serialiser.serialise(records.stream(), out);
+        }
+    }
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(final int b) {
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+        }
+    };
+}
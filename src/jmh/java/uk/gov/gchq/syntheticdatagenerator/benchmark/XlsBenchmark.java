@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.syntheticdatagenerator.serialise.CsvSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.Serialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.XlsSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * @brief Measures the time and peak heap taken to write one large XLS file, with CSV as a baseline
+ * @details A pool of employees is generated up front and written over and over, so only serialisation is measured.
+ * Divide {@code records} by the score for rows per second. The peak heap is the highest heap use seen during
+ * the iteration, summed over the heap pools, and is logged after every iteration, as single shot runs don't report
+ * auxiliary counters.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class XlsBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(XlsBenchmark.class);
+    private static final int POOL_SIZE = 10_000;
+
+    @Param({"xls", "csv"})
+    public String format;
+
+    @Param({"1000000"})
+    public int records;
+
+    private List<Employee> pool;
+    private Serialiser<Employee> serialiser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = RandomEngine.XOSHIRO.create(0L);
+        pool = Stream.generate(() -> Employee.generate(random)).limit(POOL_SIZE).collect(Collectors.toList());
+        serialiser = "csv".equals(format) ? new CsvSerialiser<>(Employee.class) : new XlsSerialiser<>(Employee.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            memoryPool.resetPeakUsage();
+        }
+    }
+
+    @Benchmark
+    public void serialise() throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new DiscardingOutputStream(), 1 << 16)) {
+            serialiser.serialise(IntStream.range(0, records).mapToObj(i -> pool.get(i % POOL_SIZE)), out);
+        }
+    }
+
+    /**
+     * @brief Logs the peak heap use of the iteration
+     */
+    @TearDown(Level.Iteration)
+    public void logPeakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                peak += memoryPool.getPeakUsage().getUsed();
+            }
+        }
+        LOGGER.info("Peak heap of {} MB for {} {} rows", peak >> 20, records, format);
+    }
+
+    /**
+     * @brief Output stream which drops everything written to it
+     */
+    private static final class DiscardingOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) {
+            // discarded
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            // discarded
+        }
+    }
+}
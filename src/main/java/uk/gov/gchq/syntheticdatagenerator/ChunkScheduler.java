@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @class Chunk Scheduler
+ * @brief This class generates the records of every file of a run on one bounded pool of threads
+ * @details The records of each file are split into chunks of a fixed number of records. Every file keeps a window
+ * of its next chunks queued on the shared pool and takes them back in order, queueing the next chunk each time one
+ * is taken, so the threads generate the chunks of whichever files are being written rather than being tied to one
+ * file. Every record draws from its own random source derived from the seed of its file and its index, as with
+ * {@code --seekable}, so the files are the same whatever the number of threads or the chunk size.
+ */
+public final class ChunkScheduler implements Closeable {
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int window;
+
+    /**
+     * @brief This method builds a scheduler and its pool of threads
+     * @param threads number of threads generating records
+     * @param chunkSize number of records of a chunk
+     * @param window number of chunks of a file which may be queued or waiting to be written
+     */
+    public ChunkScheduler(final int threads, final int chunkSize, final int window) {
+        if (threads < 1 || chunkSize < 1 || window < 1) {
+            throw new IllegalArgumentException("threads, chunkSize and window must all be at least 1");
+        }
+        this.executor = Executors.newFixedThreadPool(threads, CreateData.createDaemonThreadFactory());
+        this.chunkSize = chunkSize;
+        this.window = window;
+    }
+
+    /**
+     * @brief This method returns the records of a file, generated in chunks on the shared pool
+     * @param generator function creating one record from a random source
+     * @param from index in the file of the first record
+     * @param to index in the file after the last record
+     * @param seed seed of the file
+     * @param randomFactory function creating a random source from its seed
+     * @param <T> the record type
+     * @return ordered stream of records, closing it cancels the chunks still queued
+     */
+    public <T> Stream<T> stream(final Function<Random, T> generator, final long from, final long to, final long seed,
+                                final LongFunction<Random> randomFactory) {
+        requireNonNull(generator, "generator");
+        requireNonNull(randomFactory, "randomFactory");
+        FileChunks<T> chunks = new FileChunks<>(generator, from, Math.max(from, to), seed, randomFactory);
+        Spliterator<T> spliterator = Spliterators.spliterator(chunks, Math.max(0L, to - from),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(chunks::cancel);
+    }
+
+    /**
+     * @brief This method stops the threads of the pool
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @class File Chunks
+     * @brief This class walks the records of one file, queueing its chunks on the shared pool as it goes
+     */
+    private final class FileChunks<T> implements Iterator<T> {
+        private final Function<Random, T> generator;
+        private final long to;
+        private final long seed;
+        private final LongFunction<Random> randomFactory;
+        private final Deque<Future<List<T>>> queued = new ArrayDeque<>();
+
+        private List<T> current = Collections.emptyList();
+        private int position;
+        private long nextChunk;
+
+        FileChunks(final Function<Random, T> generator, final long from, final long to, final long seed,
+                   final LongFunction<Random> randomFactory) {
+            this.generator = generator;
+            this.to = to;
+            this.seed = seed;
+            this.randomFactory = randomFactory;
+            nextChunk = from;
+            while (queued.size() < window && nextChunk < to) {
+                queueNext();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < current.size() || !queued.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (position == current.size()) {
+                Future<List<T>> chunk = queued.poll();
+                if (null == chunk) {
+                    throw new NoSuchElementException();
+                }
+                if (nextChunk < to) {
+                    queueNext();
+                }
+                current = take(chunk);
+                position = 0;
+            }
+            return current.get(position++);
+        }
+
+        /**
+         * @brief This method queues the generation of the next chunk of the file
+         */
+        private void queueNext() {
+            final long start = nextChunk;
+            final long end = Math.min(to, start + chunkSize);
+            nextChunk = end;
+            queued.add(executor.submit(() -> {
+                List<T> records = new ArrayList<>((int) (end - start));
+                for (long index = start; index < end; index++) {
+                    records.add(generator.apply(randomFactory.apply(SeedHelper.derive(seed, index))));
+                }
+                return records;
+            }));
+        }
+
+        /**
+         * @brief This method waits for a chunk to be generated
+         * @param chunk the queued chunk
+         * @return records of the chunk
+         */
+        private List<T> take(final Future<List<T>> chunk) {
+            try {
+                return chunk.get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for records", e);
+            } catch (ExecutionException e) {
+                cancel();
+                throw new RuntimeException("Record generation failed", e.getCause());
+            }
+        }
+
+        /**
+         * @brief This method cancels the chunks of the file still queued
+         */
+        private void cancel() {
+            for (Future<List<T>> chunk : queued) {
+                chunk.cancel(true);
+            }
+            queued.clear();
+        }
+    }
+}
@@ -18,14 +18,23 @@ package uk.gov.gchq.syntheticdatagenerator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.gchq.syntheticdatagenerator.serialise.OutputFormat;
+import uk.gov.gchq.syntheticdatagenerator.types.OrgChart;
+import uk.gov.gchq.syntheticdatagenerator.types.ThreadLocalFaker;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+import uk.gov.gchq.syntheticdatagenerator.utils.VirtualThreads;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @class Create Data
@@ -42,15 +51,20 @@ public final class CreateData {
     private static final int NUM_THREADS_ARG = 3;
     private static final int IS_JSON_OUT = 4;
     private static final int OCUPATION = 5;
+    // sub-stream of the run seed the organisation chart is laid out from, files use 0 upwards
+    private static final long ORG_CHART_STREAM = -1L;
 
     private CreateData() {
     }
 
     /**
      * @brief This method is able to generate new data based on the number of arguments as input
-     * @param args arguments given as input
+     * @param allArgs arguments given as input, positional arguments first followed by any {@link CreateDataOptions}
      */
-    public static void main(final String... args) {
+    public static void main(final String... allArgs) {
+        // --name=value options may follow the positional arguments
+        final String[] args = Arrays.stream(allArgs).filter(arg -> !CreateDataOptions.isOption(arg)).toArray(String[]::new);
+        final CreateDataOptions options = CreateDataOptions.parse(allArgs);
         if (args.length < MINIMUM_ARGS) {
             LOGGER.warn("This method needs at least three arguments. The directory path to save the files in, the number of employee's to generate and the number of files to split those employees between. An optional 4th argument is the number of threads to use which will default to 1.");
         } else {
@@ -59,7 +73,9 @@ public final class CreateData {
             long numberOfEmployees = Long.parseLong(args[NUM_EMPLOYEES_ARG]);
             int numberOfFiles = Integer.parseInt(args[NUM_FILES_ARG]);
             // Default values
-            int numberOfThreads = numberOfFiles;
+            // one thread per file, but no more platform threads than there are processors
+            int numberOfThreads = options.isVirtualThreads() ? numberOfFiles
+                    : Math.min(numberOfFiles, Runtime.getRuntime().availableProcessors());
             // Optional additional arguments overriding default values
             String job = null;
             if (args.length > MINIMUM_ARGS) {
@@ -68,38 +84,168 @@ public final class CreateData {
                 job = args[OCUPATION];
             }
             long startTime = System.currentTimeMillis();
-            ExecutorService executors = Executors.newFixedThreadPool(numberOfThreads, createDaemonThreadFactory());
-            CreateDataFile[] tasks = new CreateDataFile[numberOfFiles];
+            ExecutorService executors = Executors.newFixedThreadPool(numberOfThreads, createFileThreadFactory(options));
             long employeesPerFile = numberOfEmployees / numberOfFiles;
+            // the first files take one more employee each, so the run holds exactly the number asked for
+            long remainder = numberOfEmployees % numberOfFiles;
+            // a sharded run only writes its own contiguous range of the files
+            int shardCount = options.getShardCount();
+            int shardIndex = options.getShardIndex();
+            int firstFile = (int) ((long) numberOfFiles * shardIndex / shardCount);
+            int lastFile = (int) ((long) numberOfFiles * (shardIndex + 1) / shardCount);
         
             // IS_JSON_OUT = 1 JSON
             // IS_JSON_OUT = 0 AVRO
-            
-            
-            for (int i = 0; i < numberOfFiles; i++) {
-                if(args[IS_JSON_OUT].equals("1")){
-                    tasks[i] = new CreateDataFile(employeesPerFile, i, new File(outputFilePath + "/worker_" + job + i + ".json"), job);
-                }
-                else{
-                    tasks[i] = new CreateDataFile(employeesPerFile, i, new File(outputFilePath + "/worker_" + job + i + ".avro" ), job);
+            // --output-format picks any other format
+            OutputFormat format = options.getOutputFormat(args[IS_JSON_OUT].equals("1") ? OutputFormat.JSON : OutputFormat.AVRO);
+            Manifest manifest = new Manifest(options.getSeed(), numberOfEmployees, numberOfFiles, employeesPerFile,
+                    shardIndex, shardCount, format.name(), job, options.getContentSettings());
+
+            OrgChart orgChart = null;
+            if (options.isOrgChart()) {
+                // every shard lays out the same chart for the whole run
+                orgChart = OrgChart.build(Math.max(1L, numberOfEmployees), options.getOrgSpan(),
+                        SeedHelper.derive(options.getSeed(), ORG_CHART_STREAM), options.getIdScheme(), options.getIdKey());
+                LOGGER.info("Laid out an organisation chart of {} managers over {} levels", orgChart.getNumberOfManagers(),
+                        orgChart.getNumberOfLevels());
+            }
+
+            File directory = new File(outputFilePath);
+            Manifest previous = options.isCheckpoint() ? readPrevious(directory, manifest) : null;
+            List<Callable<Boolean>> tasks = new ArrayList<>(lastFile - firstFile);
+            // with --chunk-size the records of every file are generated on one shared pool
+            ChunkScheduler scheduler = options.getChunkSize() > 0
+                    ? new ChunkScheduler(options.getGeneratorThreads(), options.getChunkSize(), options.getQueueDepth())
+                    : null;
+            // otherwise the workers of every file share one pool, so its threads and their Fakers are reused
+            ExecutorService workerPool = null == scheduler && (options.getWorkersPerFile() > 1 || options.isPipeline())
+                    ? Executors.newFixedThreadPool(numberOfThreads * options.getWorkersPerFile(), createDaemonThreadFactory())
+                    : null;
+            for (int i = firstFile; i < lastFile; i++) {
+                // every file has its own seed, derived from the seed of the run
+                long fileSeed = SeedHelper.derive(options.getSeed(), i);
+                File outputFile = new File(outputFilePath, format.fileName("worker_" + job + i, options.isGzip()));
+                long fileEmployees = employeesPerFile + (i < remainder ? 1 : 0);
+                long firstRecord = i * employeesPerFile + Math.min(i, remainder);
+                // with fewer employees than files the last files are written empty
+                Manifest.DataFile dataFile = new Manifest.DataFile(i, outputFile.getName(), fileSeed, firstRecord,
+                        fileEmployees, 0L);
+                CreateDataFile task = new CreateDataFile(fileEmployees, fileSeed, outputFile, job, options, orgChart,
+                        firstRecord, scheduler, workerPool);
+                if (null == previous) {
+                    manifest.getFiles().add(dataFile);
+                    tasks.add(task);
+                } else if (previous.isWritten(dataFile, directory)) {
+                    LOGGER.info("Skipping {}, written by an earlier run", outputFile);
+                    manifest.complete(previous.getFile(i));
+                } else {
+                    tasks.add(checkpointed(task, dataFile, manifest, directory));
                 }
             }
             try {
-                List<Future<Boolean>> responses = executors.invokeAll(Arrays.asList(tasks));
+                List<Future<Boolean>> responses = executors.invokeAll(tasks);
+                int failed = 0;
                 for (Future<Boolean> response : responses) {
-                    response.get();
+                    if (!response.get()) {
+                        failed++;
+                    }
+                }
+                if (failed > 0) {
+                    // a failed file may be left half written, so the run is not listed as complete
+                    LOGGER.error("Failed to write {} of the files, the manifest is not written", failed);
+                } else {
+                    if (null == previous) {
+                        for (Manifest.DataFile dataFile : manifest.getFiles()) {
+                            dataFile.setBytes(new File(outputFilePath, dataFile.getName()).length());
+                        }
+                    }
+                    LOGGER.info("Wrote files {} to {} of {} in {}", firstFile, lastFile - 1, numberOfFiles,
+                            manifest.write(directory));
                 }
             } catch (final Exception e) {
                 LOGGER.error(e.getLocalizedMessage());
                 Thread.currentThread().interrupt();
+            } finally {
+                // the threads end, dropping their Fakers
+                executors.shutdown();
+                if (null != scheduler) {
+                    scheduler.close();
+                }
+                if (null != workerPool) {
+                    workerPool.shutdown();
+                }
             }
             long endTime = System.currentTimeMillis();
             LOGGER.info("Took {}ms to create {} employees", (endTime - startTime), numberOfEmployees);
+            LOGGER.info("Built {} Faker instance(s) in {}ms", ThreadLocalFaker.getConstructionCount(),
+                    ThreadLocalFaker.getConstructionTime(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * @brief This method reads the manifest an earlier, interrupted run of the same files left in the directory
+     * @param directory directory of the data files
+     * @param manifest manifest of this run, with no files yet
+     * @return the earlier manifest, or one with no files if there is none or it belongs to another run
+     */
+    private static Manifest readPrevious(final File directory, final Manifest manifest) {
+        File file = new File(directory, manifest.fileName());
+        if (file.exists()) {
+            try {
+                Manifest previous = Manifest.read(file);
+                if (previous.isSameRun(manifest)) {
+                    LOGGER.info("Resuming from {} with {} files written", file, previous.getFiles().size());
+                    return previous;
+                }
+                LOGGER.warn("Ignoring {}, it belongs to another run", file);
+            } catch (IOException e) {
+                LOGGER.warn("Ignoring unreadable {}", file, e);
+            }
         }
+        return new Manifest();
+    }
+
+    /**
+     * @brief This method wraps the task of a file so the file is added to the manifest as soon as it is written
+     * @param task task writing the file
+     * @param dataFile description of the file
+     * @param manifest manifest of the run
+     * @param directory directory of the data files, where the manifest is written
+     * @return the wrapped task
+     */
+    private static Callable<Boolean> checkpointed(final CreateDataFile task, final Manifest.DataFile dataFile,
+                                                  final Manifest manifest, final File directory) {
+        return () -> {
+            boolean written = task.call();
+            if (written) {
+                dataFile.setBytes(new File(directory, dataFile.getName()).length());
+                manifest.complete(dataFile);
+                manifest.write(directory);
+            }
+            return written;
+        };
+    }
+
+    /**
+     * @brief This method creates the factory of the threads the files are written on
+     * @details Virtual threads are used if asked for and the running Java version has them, otherwise daemon threads
+     * @param options optional settings given to CreateData
+     * @return thread factory
+     */
+    private static ThreadFactory createFileThreadFactory(final CreateDataOptions options) {
+        if (options.isVirtualThreads()) {
+            try {
+                return VirtualThreads.factory("file-");
+            } catch (UnsupportedOperationException e) {
+                LOGGER.warn("Writing the files on platform threads: {}", e.getMessage());
+            }
+        }
+        return createDaemonThreadFactory();
     }
 
     /**
      * Create a {@link ThreadFactory} that creates daemon threads that don't prevent JVM exit.
+     * The threads drop their Faker when they end, once their executor is shut down.
      *
      * @return a daemon thread factory
      */
@@ -108,7 +254,13 @@ public final class CreateData {
         final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
         //ensure thread is daemon
         return runnable -> {
-            Thread t = defaultFactory.newThread(runnable);
+            Thread t = defaultFactory.newThread(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    ThreadLocalFaker.unload();
+                }
+            });
             t.setDaemon(true);
             return t;
         };
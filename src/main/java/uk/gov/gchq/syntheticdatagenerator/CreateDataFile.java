@@ -19,39 +19,67 @@ package uk.gov.gchq.syntheticdatagenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.gchq.syntheticdatagenerator.serialise.AvroSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.CsvSerialiser;
 import uk.gov.gchq.syntheticdatagenerator.serialise.JSONSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.OutputFormat;
+import uk.gov.gchq.syntheticdatagenerator.serialise.ParquetSerialiser;
 import uk.gov.gchq.syntheticdatagenerator.serialise.Serialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.XlsSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.DataBackend;
 import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.IdScheme;
 import uk.gov.gchq.syntheticdatagenerator.types.Teacher;
 import uk.gov.gchq.syntheticdatagenerator.types.Manager;
+import uk.gov.gchq.syntheticdatagenerator.types.OrgChart;
+import uk.gov.gchq.syntheticdatagenerator.utils.AsyncOutputStream;
+import uk.gov.gchq.syntheticdatagenerator.utils.OutputIo;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.security.SecureRandom;
-import java.nio.ByteBuffer;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import com.google.common.io.Files;
 
 /**
  * @brief This class creates a data file
- * @details the output can be selected among and "avro" or "csv" file
+ * @details the output can be selected among "avro", "json", "csv", "parquet" or "xls" files, picked by the extension of the file
  * @details to create the output file 6 different arguments need to be inserted
  */
 public final class CreateDataFile implements Callable<Boolean> {
     private static final Logger LOGGER = LoggerFactory.getLogger(CreateDataFile.class);
     // When a large number of employees are requested, print the progress as feedback that the process has not frozen
     private static final long PRINT_EVERY = 100_000L;
+    // With --checkpoint a file is written under this suffix and renamed once complete
+    private static final String PARTIAL_SUFFIX = ".partial";
 
     private final long numberOfPeople;
-    private final SecureRandom random;
+    private final long seed;
+    private final Random random;
     private final File outputFile;
     private final String ocupation;
-    private boolean isJSONFile = false;
+    private final CreateDataOptions options;
+    private final OutputFormat format;
+    private final boolean gzip;
+    private final OrgChart orgChart;
+    private final long firstRecord;
+    private final ChunkScheduler scheduler;
+    private final ExecutorService workerPool;
+    // index in the file of the first record still to write, above 0 when a partial Avro file is resumed
+    private long resumeAt;
 
     /**
      * @brief This method creates a data file
@@ -60,13 +88,85 @@ public final class CreateDataFile implements Callable<Boolean> {
      * @param outputFile output file
      * @param ocupation type of person that is going to be created: the selection will be among employees or teachers
      */
-    public CreateDataFile(final long numberOfPeople, final int seed, final File outputFile, final String ocupation ) {
+    public CreateDataFile(final long numberOfPeople, final long seed, final File outputFile, final String ocupation ) {
+        this(numberOfPeople, seed, outputFile, ocupation, CreateDataOptions.defaults());
+    }
+
+    /**
+     * @brief This method creates a data file
+     * @param numberOfPeople number of people that want to be created
+     * @param seed seed to create the data file
+     * @param outputFile output file
+     * @param ocupation type of person that is going to be created: the selection will be among employees or teachers
+     * @param options optional settings given to CreateData
+     */
+    public CreateDataFile(final long numberOfPeople, final long seed, final File outputFile, final String ocupation,
+                          final CreateDataOptions options) {
+        this(numberOfPeople, seed, outputFile, ocupation, options, null, 0L);
+    }
+
+    /**
+     * @brief This method creates a data file
+     * @param numberOfPeople number of people that want to be created
+     * @param seed seed to create the data file
+     * @param outputFile output file
+     * @param ocupation type of person that is going to be created: the selection will be among employees or teachers
+     * @param options optional settings given to CreateData
+     * @param orgChart organisation chart the people report to, or null to make up random managers for each of them
+     * @param firstRecord index in the whole run of the first person of the file
+     */
+    public CreateDataFile(final long numberOfPeople, final long seed, final File outputFile, final String ocupation,
+                          final CreateDataOptions options, final OrgChart orgChart, final long firstRecord) {
+        this(numberOfPeople, seed, outputFile, ocupation, options, orgChart, firstRecord, null);
+    }
+
+    /**
+     * @brief This method creates a data file
+     * @param numberOfPeople number of people that want to be created
+     * @param seed seed to create the data file
+     * @param outputFile output file
+     * @param ocupation type of person that is going to be created: the selection will be among employees or teachers
+     * @param options optional settings given to CreateData
+     * @param orgChart organisation chart the people report to, or null to make up random managers for each of them
+     * @param firstRecord index in the whole run of the first person of the file
+     * @param scheduler pool shared by the files of the run generating the people in chunks, or null to generate
+     * them for this file alone
+     */
+    public CreateDataFile(final long numberOfPeople, final long seed, final File outputFile, final String ocupation,
+                          final CreateDataOptions options, final OrgChart orgChart, final long firstRecord,
+                          final ChunkScheduler scheduler) {
+        this(numberOfPeople, seed, outputFile, ocupation, options, orgChart, firstRecord, scheduler, null);
+    }
+
+    /**
+     * @brief This method creates a data file
+     * @param numberOfPeople number of people that want to be created
+     * @param seed seed to create the data file
+     * @param outputFile output file
+     * @param ocupation type of person that is going to be created: the selection will be among employees or teachers
+     * @param options optional settings given to CreateData
+     * @param orgChart organisation chart the people report to, or null to make up random managers for each of them
+     * @param firstRecord index in the whole run of the first person of the file
+     * @param scheduler pool shared by the files of the run generating the people in chunks, or null to generate
+     * them for this file alone
+     * @param workerPool pool shared by the files of the run running the workers of each file, or null for a pool
+     * of the file's own
+     */
+    public CreateDataFile(final long numberOfPeople, final long seed, final File outputFile, final String ocupation,
+                          final CreateDataOptions options, final OrgChart orgChart, final long firstRecord,
+                          final ChunkScheduler scheduler, final ExecutorService workerPool) {
         this.numberOfPeople = numberOfPeople;
-        this.random = new SecureRandom(longToBytes(seed));
+        this.seed = seed;
+        this.random = options.getRandomEngine().create(seed);
         this.outputFile = outputFile;
         this.ocupation = ocupation.toUpperCase();
-        if(getExtensionByGuava(outputFile).equals("json")){isJSONFile = true;}
-        else{isJSONFile = false;}
+        this.options = options;
+        this.format = OutputFormat.fromFile(outputFile);
+        this.gzip = format.isText() && OutputFormat.isGzip(outputFile);
+        this.orgChart = orgChart;
+        this.firstRecord = firstRecord;
+        this.scheduler = scheduler;
+        this.workerPool = workerPool;
     }
 
     /**
@@ -80,110 +180,275 @@ public final class CreateDataFile implements Callable<Boolean> {
                 LOGGER.warn("Failed to create parent directory {}", outputFile.getParent());
             }
         }
-        try (OutputStream out = new FileOutputStream(outputFile)) {
-        	
-        	Stream<Teacher> teacherStream = null;
-        	Stream<Employee> employeeStream = null;
+        final DataBackend backend = options.getDataBackend();
+        final boolean checkpoint = options.isCheckpoint();
+        final File target = checkpoint ? new File(outputFile.getPath() + PARTIAL_SUFFIX) : outputFile;
+        Stream<Teacher> teacherStream = null;
+        Stream<Employee> employeeStream = null;
+        try {
+            resumeAt = checkpoint ? recover(target) : 0L;
+        } catch (IOException ex) {
+            LOGGER.warn("Failed to recover {}, writing it again", target, ex);
+            resumeAt = 0L;
+        }
+        try (OutputStream out = openOutput(target, resumeAt > 0)) {
         	
-            if(ocupation.equals("E")){
-            	
-                AvroSerialiser<Employee> employeeAvroSerialiser = new AvroSerialiser<>(Employee.class);
-
-                // Need at least one Employee
-                Employee firstEmployee = Employee.generate(random);
-                Manager[] managers = firstEmployee.getManager();
-                managers[0].setUid("Bob");
-                firstEmployee.setManager(managers);
-                // Create more employees if needed
-                employeeStream = Stream.of(firstEmployee);  
-                if (numberOfPeople > 1) {
-                	employeeStream = Stream.concat(employeeStream, generateStreamOfEmployees());
-                }
+            if(ocupation.equals("E") && null != orgChart){
+                employeeStream = inOrgChart(generateStream(source -> Employee.generate(source, backend, false), "employees"),
+                        Employee::setUid, Employee::setManager);
+            }
+            else if(ocupation.equals("E")){
+                // The first Employee always reports to Bob
+                employeeStream = withFirstRecord(generateStream(source -> Employee.generate(source, backend), "employees"), firstEmployee -> {
+                    Manager[] managers = firstEmployee.getManager();
+                    managers[0].setUid("Bob");
+                    firstEmployee.setManager(managers);
+                });
+            }
+            else if(ocupation.equals("T") && null != orgChart){
+                teacherStream = inOrgChart(generateStream(source -> Teacher.generate(source, backend, false), "teachers"),
+                        Teacher::setUid, Teacher::setManager);
             }
             else if(ocupation.equals("T")){
-                // Need at least one Employee
-                Teacher firstTeacher = Teacher.generate(random);
-                Manager[] managers = firstTeacher.getManager();
-                managers[0].setUid("Peter");
-                firstTeacher.setManager(managers);
-                // Create more teachers if needed
-                teacherStream = Stream.of(firstTeacher); 
-                if (numberOfPeople > 1) {
-                	teacherStream = Stream.concat(teacherStream, generateStreamOfTeacher());
-                }
+                // The first Teacher always reports to Peter
+                teacherStream = withFirstRecord(generateStream(source -> Teacher.generate(source, backend), "teachers"), firstTeacher -> {
+                    Manager[] managers = firstTeacher.getManager();
+                    managers[0].setUid("Peter");
+                    firstTeacher.setManager(managers);
+                });
             }
             
+            if (null != employeeStream) {
+                employeeStream = withIds(employeeStream, Employee::getUid, Employee::setUid, Employee::setId);
+            }
+            if (null != teacherStream) {
+                teacherStream = withIds(teacherStream, Teacher::getUid, Teacher::setUid, Teacher::setId);
+            }
+
             // Serialise stream to output
-            if(isJSONFile == true) {
-            	if(ocupation.equals("T")) {
-            		Serialiser<Teacher> teacherJSONSerialiser = new JSONSerialiser<>(Teacher.class);
-					teacherJSONSerialiser.serialise(teacherStream , out);
-            	} else if(ocupation.equals("E")) {
-            		Serialiser<Employee> employeeJSONSerialiser = new JSONSerialiser<>(Employee.class);
-					employeeJSONSerialiser.serialise(employeeStream , out);
-            	}
-            } else if(isJSONFile == false) {
-            	if(ocupation.equals("T")) {
-            		Serialiser<Teacher> teacherAvroSerialiser = new AvroSerialiser<>(Teacher.class);
-					teacherAvroSerialiser.serialise(teacherStream , out);
-            	} else if(ocupation.equals("E")) {
-            		Serialiser<Employee> employeeAvroSerialiser = new AvroSerialiser<>(Employee.class);
-					employeeAvroSerialiser.serialise(employeeStream , out);
-            	}
+            if(ocupation.equals("T") && resumeAt > 0) {
+                createAvroSerialiser(Teacher.class).append(teacherStream, target, out);
+            } else if(ocupation.equals("E") && resumeAt > 0) {
+                createAvroSerialiser(Employee.class).append(employeeStream, target, out);
+            } else if(ocupation.equals("T")) {
+                createSerialiser(Teacher.class).serialise(teacherStream, out);
+            } else if(ocupation.equals("E")) {
+                createSerialiser(Employee.class).serialise(employeeStream, out);
             }
-            
-            
+
         } catch (IOException ex) {
             LOGGER.error("IOException when serialising Employee or Teacher to Avro", ex);
             return false;
+        } finally {
+            // stops any worker threads still generating records for this file
+            if (null != employeeStream) {
+                employeeStream.close();
+            }
+            if (null != teacherStream) {
+                teacherStream.close();
+            }
+        }
+        if (checkpoint) {
+            try {
+                java.nio.file.Files.move(target.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                LOGGER.error("Failed to rename {} to {}", target, outputFile, ex);
+                return false;
+            }
         }
-        return false;
+        return true;
     }
 
     /**
-     * @brief This method creates a stream of employees
-     * @return the list of generated employee data
+     * @brief This method finds how much of a partial file left by an interrupted run can be kept
+     * @details Only Avro files are resumed, after their last complete block. Any other partial file is written again.
+     * @param partial the partial file
+     * @return number of records kept in the file, 0 to write it from the start
+     * @throws IOException if the file can't be read or truncated
      */
-    private Stream<Employee> generateStreamOfEmployees() {
-        LOGGER.info("Generating {} employees", numberOfPeople);
-        final AtomicLong counter = new AtomicLong(0);
-        Stream<Employee> employeeStream = Stream.generate(() -> {
+    private long recover(final File partial) throws IOException {
+        if (!partial.exists() || format != OutputFormat.AVRO) {
+            return 0L;
+        }
+        long kept = AvroSerialiser.recover(partial);
+        if (kept > 0) {
+            LOGGER.info("Resuming {} after {} records", partial, kept);
+        }
+        return Math.max(0L, kept);
+    }
+
+    /**
+     * @brief This method creates the stream of records of the file
+     * @details With a {@link ChunkScheduler} the records are generated in chunks on the pool it shares with the other
+     * files. Otherwise with more than one worker per file, or in a pipeline, they are generated by a
+     * {@link ParallelRecordGenerator}, on the pool of workers shared by the files of the run if there is one.
+     * When seekable every record gets its own random source from {@link RandomEngine#createAt(long, long)}.
+     * When a file is resumed the stream starts at the first record still to write: seekable records are generated
+     * from there, other records are generated from the start of the file and skipped to keep the same random values.
+     * @param generator function creating one record from a random source
+     * @param label name of the records, used for logging
+     * @param <T> the record type
+     * @return the stream of generated records, empty when the file has no records
+     */
+    private <T> Stream<T> generateStream(final Function<Random, T> generator, final String label) {
+        final long total = numberOfPeople;
+        final int workers = options.getWorkersPerFile();
+        final RandomEngine engine = options.getRandomEngine();
+        final boolean seekable = options.isSeekable();
+        LOGGER.info("Generating {} {} with {} worker(s)", total, label, workers);
+        Stream<T> records;
+        if (null != scheduler) {
+            records = scheduler.stream(generator, resumeAt, total, seed, engine::create);
+        } else if (workers > 1 || options.isPipeline()) {
+            records = new ParallelRecordGenerator<>(generator, total, workers, seed, engine::create,
+                    options.getBatchSize(), options.getQueueDepth(), seekable, workerPool).stream()
+                    .skip(resumeAt);
+        } else if (seekable) {
+            records = LongStream.range(resumeAt, total).mapToObj(index -> generator.apply(engine.createAt(seed, index)));
+        } else {
+            records = Stream.generate(() -> generator.apply(random)).limit(total).skip(resumeAt);
+        }
+        final AtomicLong counter = new AtomicLong(resumeAt);
+        return records.peek(record -> {
             if (counter.incrementAndGet() % PRINT_EVERY == 0) {
-                LOGGER.info("Processing {} of {}", counter.get(), numberOfPeople);
+                LOGGER.info("Processing {} of {}", counter.get(), total);
             }
-            return Employee.generate(random);
         });
-        // Excluding the one employee we had to generate above
-        return employeeStream.limit(numberOfPeople - 1);
     }
 
     /**
-     * @brief This method creates a stream of teachers
-     * @return the list of generated teacher data
+     * @brief This method opens the output file behind a buffer, compressing it with gzip if asked for
+     * @details The file is written through a stream, a channel or memory mapped regions as asked by {@code --output-io}
+     * @details In a pipeline the buffers are compressed and written on a thread of their own
+     * @param target the file written, the output file or its partial file
+     * @param append true to write at the end of the file rather than replace it
+     * @return the output stream, closing it finishes the gzip stream and closes the file
+     * @throws IOException if the file can't be opened
      */
-    private Stream<Teacher> generateStreamOfTeacher() {
-        LOGGER.info("Generating {} teachers", numberOfPeople);
-        final AtomicLong counter = new AtomicLong(0);
-        Stream<Teacher> teacherStream = Stream.generate(() -> {
-            if (counter.incrementAndGet() % PRINT_EVERY == 0) {
-                LOGGER.info("Processing {} of {}", counter.get(), numberOfPeople);
+    private OutputStream openOutput(final File target, final boolean append) throws IOException {
+        OutputIo io = options.getOutputIo();
+        OutputStream file = io.open(target, append, options.getBufferSize(), options.getMmapRegionSize());
+        if (gzip) {
+            try {
+                file = new GZIPOutputStream(file, options.getBufferSize());
+            } catch (IOException e) {
+                file.close();
+                throw e;
             }
-            return Teacher.generate(random);
+        }
+        if (options.isPipeline()) {
+            return new AsyncOutputStream(file, options.getBufferSize(), options.getQueueDepth(),
+                    CreateData.createDaemonThreadFactory());
+        }
+        // a channel or mapped file is its own buffer, unless gzip writes to it
+        return gzip || !io.isBuffered() ? new BufferedOutputStream(file, options.getBufferSize()) : file;
+    }
+
+    /**
+     * @brief This method creates the serialiser of the file for its output format
+     * @param domainClass the record class
+     * @param <T> the record type
+     * @return serialiser writing the records in the format of the file
+     */
+    private <T> Serialiser<T> createSerialiser(final Class<T> domainClass) {
+        switch (format) {
+            case JSON:
+                return new JSONSerialiser<>(domainClass, options.getJsonStyle());
+            case CSV:
+                return new CsvSerialiser<>(domainClass, options.getCsvPhoneNumbers());
+            case PARQUET:
+                // the chains of an organisation chart reach its top manager, however deep it is
+                int managerLevels = null == orgChart ? ParquetSerialiser.DEFAULT_MANAGER_LEVELS
+                        : Math.max(ParquetSerialiser.DEFAULT_MANAGER_LEVELS, orgChart.getNumberOfLevels());
+                return new ParquetSerialiser<>(domainClass, options.getParquetCodec(), options.getParquetRowGroupSize(),
+                        options.getParquetPageSize(), options.isParquetDictionary(), managerLevels);
+            case XLS:
+                return new XlsSerialiser<>(domainClass, options.getCsvPhoneNumbers(), options.getXlsRowsPerSheet());
+            default:
+                return createAvroSerialiser(domainClass);
+        }
+    }
+
+    /**
+     * @brief This method creates the Avro serialiser of the file
+     * @param domainClass the record class
+     * @param <T> the record type
+     * @return serialiser with the codec, sync interval and writer asked for and a sync marker derived from the seed
+     */
+    private <T> AvroSerialiser<T> createAvroSerialiser(final Class<T> domainClass) {
+        return new AvroSerialiser<>(domainClass, SeedHelper.syncMarker(seed), options.getAvroCodec(),
+                options.getAvroSyncInterval(), options.getAvroWriter());
+    }
+
+    /**
+     * @brief This method places the records of the file in the organisation chart
+     * @details Managers take the uid they have in the chart, and every record gets the managers of its place in the chart
+     * @param records stream of records, in the order of the file
+     * @param setUid sets the uid of a record
+     * @param setManagers sets the managers of a record
+     * @param <T> the record type
+     * @return the stream of records
+     */
+    private <T> Stream<T> inOrgChart(final Stream<T> records, final BiConsumer<T, String> setUid,
+                                     final BiConsumer<T, Manager[]> setManagers) {
+        final AtomicLong position = new AtomicLong(firstRecord + resumeAt);
+        return records.peek(record -> {
+            long index = position.getAndIncrement();
+            if (orgChart.isManager(index)) {
+                setUid.accept(record, orgChart.getUid(index));
+            }
+            setManagers.accept(record, orgChart.getManagers(index));
         });
-        // Excluding the one employee we had to generate above
-        return teacherStream.limit(numberOfPeople - 1);
     }
 
+    /**
+     * @brief This method gives the records of the file the identifiers asked for
+     * @details With a derived {@link IdScheme} the identifier comes from the index of the record in the run, otherwise
+     * the random uid of the record is kept. It is then held either as the uid or, for {@code --id-field=long}, as
+     * the numeric id with no uid.
+     * @param records stream of records, in the order of the file
+     * @param getUid returns the uid of a record
+     * @param setUid sets the uid of a record
+     * @param setId sets the numeric id of a record
+     * @param <T> the record type
+     * @return the stream of records
+     */
+    private <T> Stream<T> withIds(final Stream<T> records, final Function<T, String> getUid,
+                                  final BiConsumer<T, String> setUid, final BiConsumer<T, Long> setId) {
+        final IdScheme.Derivation derivation = options.getIdScheme().getDerivation();
+        final long key = options.getIdKey();
+        final boolean longId = options.isLongId();
+        if (null == derivation && !longId) {
+            return records;
+        }
+        final AtomicLong position = new AtomicLong(firstRecord + resumeAt);
+        return records.peek(record -> {
+            long index = position.getAndIncrement();
+            long id = null != derivation ? derivation.id(index, key) : Long.parseLong(getUid.apply(record));
+            if (longId) {
+                setId.accept(record, id);
+                setUid.accept(record, null);
+            } else {
+                setUid.accept(record, String.valueOf(id));
+            }
+        });
+    }
 
     /**
-     * @brief This method converts a long value to a byte value
-     * @param x long value
-     * @return long value in bytes
+     * @brief This method applies a change to the first record of the file only
+     * @param records stream of records, which starts after the first record when the file is resumed
+     * @param change change applied to the first record
+     * @param <T> the record type
+     * @return the stream of records
      */
-    private byte[] longToBytes(long x) {
-        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
-        buffer.putLong(x);
-        return buffer.array();
+    private <T> Stream<T> withFirstRecord(final Stream<T> records, final Consumer<T> change) {
+        final AtomicLong seen = new AtomicLong(resumeAt);
+        return records.peek(record -> {
+            if (seen.getAndIncrement() == 0) {
+                change.accept(record);
+            }
+        });
     }
 
     /**
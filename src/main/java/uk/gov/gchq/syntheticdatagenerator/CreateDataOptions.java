@@ -0,0 +1,485 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import uk.gov.gchq.syntheticdatagenerator.serialise.AvroSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.AvroWriter;
+import uk.gov.gchq.syntheticdatagenerator.serialise.CsvSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.JsonStyle;
+import uk.gov.gchq.syntheticdatagenerator.serialise.OutputFormat;
+import uk.gov.gchq.syntheticdatagenerator.serialise.ParquetSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.XlsSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.DataBackend;
+import uk.gov.gchq.syntheticdatagenerator.types.IdScheme;
+import uk.gov.gchq.syntheticdatagenerator.types.OrgChart;
+import uk.gov.gchq.syntheticdatagenerator.utils.OutputIo;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @class Create Data Options
+ * @brief This class holds the optional settings given to CreateData
+ * @details Options are passed after the positional arguments as {@code --name=value}, or {@code --name} for a flag
+ */
+public final class CreateDataOptions implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final String PREFIX = "--";
+
+    public static final String WORKERS_PER_FILE = "workers-per-file";
+    public static final String RANDOM = "random";
+    public static final String SEED = "seed";
+    public static final String AVRO_CODEC = "avro-codec";
+    public static final String AVRO_SYNC_INTERVAL = "avro-sync-interval";
+    public static final String AVRO_WRITER = "avro-writer";
+    public static final String JSON_STYLE = "json-style";
+    public static final String BUFFER_SIZE = "buffer-size";
+    public static final String OUTPUT_FORMAT = "output-format";
+    public static final String GZIP = "gzip";
+    public static final String CSV_PHONE_NUMBERS = "csv-phone-numbers";
+    public static final String PARQUET_CODEC = "parquet-codec";
+    public static final String PARQUET_ROW_GROUP_SIZE = "parquet-row-group-size";
+    public static final String PARQUET_PAGE_SIZE = "parquet-page-size";
+    public static final String PARQUET_DICTIONARY = "parquet-dictionary";
+    public static final String XLS_ROWS_PER_SHEET = "xls-rows-per-sheet";
+    public static final String DATA_BACKEND = "data-backend";
+    public static final String ORG_CHART = "org-chart";
+    public static final String ORG_SPAN = "org-span";
+    public static final String IDS = "ids";
+    public static final String ID_FIELD = "id-field";
+    public static final String SEEKABLE = "seekable";
+    public static final String SHARD_INDEX = "shard-index";
+    public static final String SHARD_COUNT = "shard-count";
+    public static final String CHECKPOINT = "checkpoint";
+    public static final String PIPELINE = "pipeline";
+    public static final String BATCH_SIZE = "batch-size";
+    public static final String QUEUE_DEPTH = "queue-depth";
+    public static final String CHUNK_SIZE = "chunk-size";
+    public static final String GENERATOR_THREADS = "generator-threads";
+    public static final String VIRTUAL_THREADS = "virtual-threads";
+    public static final String OUTPUT_IO = "output-io";
+    public static final String MMAP_REGION_SIZE = "mmap-region-size";
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int DEFAULT_MMAP_REGION_SIZE = 1 << 26;
+    private static final String LONG_ID_FIELD = "long";
+    // sub-stream of the run seed the identifiers are shuffled with, files use 0 upwards
+    private static final long ID_KEY_STREAM = -2L;
+
+    private final Map<String, String> values;
+
+    private CreateDataOptions(final Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * @brief This method returns the default options
+     * @return options with every setting left at its default
+     */
+    public static CreateDataOptions defaults() {
+        return new CreateDataOptions(Collections.emptyMap());
+    }
+
+    /**
+     * @brief This method parses the options out of the command line arguments
+     * @details Arguments which do not start with {@code --} are positional and are ignored here
+     * @param args arguments given as input
+     * @return parsed options
+     */
+    public static CreateDataOptions parse(final String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (isOption(arg)) {
+                int split = arg.indexOf('=');
+                if (split < 0) {
+                    values.put(arg.substring(PREFIX.length()), "true");
+                } else {
+                    values.put(arg.substring(PREFIX.length(), split), arg.substring(split + 1));
+                }
+            }
+        }
+        return new CreateDataOptions(values);
+    }
+
+    /**
+     * @brief This method checks if an argument is an option rather than a positional argument
+     * @param arg argument given as input
+     * @return true if the argument is an option
+     */
+    public static boolean isOption(final String arg) {
+        return arg.startsWith(PREFIX);
+    }
+
+    /**
+     * @brief This method returns the number of threads generating the records of a single file
+     * @return number of worker threads per file
+     */
+    public int getWorkersPerFile() {
+        return getPositiveInt(WORKERS_PER_FILE, 1);
+    }
+
+    /**
+     * @brief This method checks if each file is written by a pipeline of threads: records are generated on worker
+     * threads, encoded on the thread of the file and written to disk on a thread of their own
+     * @return true if asked for
+     */
+    public boolean isPipeline() {
+        return Boolean.parseBoolean(getString(PIPELINE, "false"));
+    }
+
+    /**
+     * @brief This method returns the number of records the workers of a file hand over at a time
+     * @return batch size
+     */
+    public int getBatchSize() {
+        return getPositiveInt(BATCH_SIZE, ParallelRecordGenerator.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @brief This method returns the number of batches, or buffers of encoded bytes, which may wait for the next stage
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        return getPositiveInt(QUEUE_DEPTH, ParallelRecordGenerator.DEFAULT_QUEUE_DEPTH);
+    }
+
+    /**
+     * @brief This method returns the number of records of a chunk when the records of every file are generated by
+     * one shared {@link ChunkScheduler}
+     * @return chunk size, 0 unless asked for or files are written on virtual threads
+     */
+    public int getChunkSize() {
+        if (values.containsKey(CHUNK_SIZE)) {
+            return getPositiveInt(CHUNK_SIZE, ChunkScheduler.DEFAULT_CHUNK_SIZE);
+        }
+        return isVirtualThreads() ? ChunkScheduler.DEFAULT_CHUNK_SIZE : 0;
+    }
+
+    /**
+     * @brief This method checks if the files are written on virtual threads, leaving the generation of the records
+     * to the bounded pool of a {@link ChunkScheduler}
+     * @return true if asked for
+     */
+    public boolean isVirtualThreads() {
+        return Boolean.parseBoolean(getString(VIRTUAL_THREADS, "false"));
+    }
+
+    /**
+     * @brief This method returns the number of threads of the shared {@link ChunkScheduler}
+     * @return number of threads, one per processor unless asked otherwise
+     */
+    public int getGeneratorThreads() {
+        return getPositiveInt(GENERATOR_THREADS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @brief This method returns the random number generator used to generate the data
+     * @return random engine, xoshiro unless another is asked for
+     */
+    public RandomEngine getRandomEngine() {
+        return RandomEngine.fromName(getString(RANDOM, RandomEngine.XOSHIRO.name()));
+    }
+
+    /**
+     * @brief This method checks if every record draws from its own random generator, seeded from its file and index
+     * @return true if asked for, otherwise the records of a file share one generator per worker
+     */
+    public boolean isSeekable() {
+        return Boolean.parseBoolean(getString(SEEKABLE, "false"));
+    }
+
+    /**
+     * @brief This method returns the source names and addresses are made up from
+     * @return data backend, Faker unless asked otherwise
+     */
+    public DataBackend getDataBackend() {
+        return DataBackend.fromName(getString(DATA_BACKEND, DataBackend.FAKER.name()));
+    }
+
+    /**
+     * @brief This method checks if the records of the run report to one shared organisation chart
+     * @return true if asked for, otherwise every record gets its own random managers
+     */
+    public boolean isOrgChart() {
+        return Boolean.parseBoolean(getString(ORG_CHART, "false"));
+    }
+
+    /**
+     * @brief This method returns the number of reports of each manager of the organisation chart
+     * @return span of the chart
+     */
+    public int getOrgSpan() {
+        return getPositiveInt(ORG_SPAN, OrgChart.DEFAULT_SPAN);
+    }
+
+    /**
+     * @brief This method returns the way the records are given their identifiers
+     * @return id scheme, random unless asked otherwise
+     */
+    public IdScheme getIdScheme() {
+        return IdScheme.fromName(getString(IDS, IdScheme.RANDOM.name()));
+    }
+
+    /**
+     * @brief This method returns the key the identifiers of the run are shuffled with
+     * @return key derived from the seed of the run
+     */
+    public long getIdKey() {
+        return SeedHelper.derive(getSeed(), ID_KEY_STREAM);
+    }
+
+    /**
+     * @brief This method checks if the records hold their identifier as a number rather than as the uid string
+     * @return true for {@code --id-field=long}
+     */
+    public boolean isLongId() {
+        String field = getString(ID_FIELD, "string");
+        if (!LONG_ID_FIELD.equalsIgnoreCase(field) && !"string".equalsIgnoreCase(field)) {
+            throw new IllegalArgumentException("--" + ID_FIELD + " must be string or long but was " + field);
+        }
+        return LONG_ID_FIELD.equalsIgnoreCase(field);
+    }
+
+    /**
+     * @brief This method returns the seed of the whole run, from which the seed of every file is derived
+     * @return seed of the run
+     */
+    public long getSeed() {
+        return Long.parseLong(getString(SEED, "0"));
+    }
+
+    /**
+     * @brief This method returns the number of shards the files of the run are split between
+     * @return shard count, 1 unless the run is sharded
+     */
+    public int getShardCount() {
+        return getPositiveInt(SHARD_COUNT, 1);
+    }
+
+    /**
+     * @brief This method returns the shard of the run this process writes the files of
+     * @return shard index, from 0 to the shard count excluded
+     */
+    public int getShardIndex() {
+        int shardIndex = Integer.parseInt(getString(SHARD_INDEX, "0"));
+        if (shardIndex < 0 || shardIndex >= getShardCount()) {
+            throw new IllegalArgumentException("--" + SHARD_INDEX + " must be from 0 to " + (getShardCount() - 1)
+                    + " but was " + shardIndex);
+        }
+        return shardIndex;
+    }
+
+    /**
+     * @brief This method checks if files are written under a temporary name and listed in the manifest once complete,
+     * so a rerun of the same command skips them
+     * @return true if asked for
+     */
+    public boolean isCheckpoint() {
+        return Boolean.parseBoolean(getString(CHECKPOINT, "false"));
+    }
+
+    /**
+     * @brief This method returns the settings which change the content of the data files, with defaults filled in
+     * @details Two runs with the same seed, sizes and settings write the same files, so a checkpointed rerun only
+     * keeps the files of an earlier run when these agree. Records drawing from their own random source are the same
+     * whatever threads generate them, otherwise the number of workers of a file changes its records.
+     * @return settings by option name
+     */
+    public Map<String, String> getContentSettings() {
+        Map<String, String> settings = new TreeMap<>();
+        settings.put(RANDOM, getRandomEngine().name());
+        settings.put(DATA_BACKEND, getDataBackend().name());
+        settings.put(IDS, getIdScheme().name());
+        settings.put(ID_FIELD, isLongId() ? LONG_ID_FIELD : "string");
+        settings.put(ORG_CHART, isOrgChart() ? String.valueOf(getOrgSpan()) : "false");
+        if (isSeekable() || getChunkSize() > 0) {
+            settings.put(SEEKABLE, "true");
+        } else {
+            settings.put(WORKERS_PER_FILE, getWorkersPerFile() > 1 || isPipeline() ? String.valueOf(getWorkersPerFile()) : "0");
+        }
+        settings.put(AVRO_CODEC, getAvroCodec().toString());
+        settings.put(AVRO_SYNC_INTERVAL, String.valueOf(getAvroSyncInterval()));
+        settings.put(JSON_STYLE, getJsonStyle().name());
+        settings.put(GZIP, String.valueOf(isGzip()));
+        settings.put(CSV_PHONE_NUMBERS, String.valueOf(getCsvPhoneNumbers()));
+        settings.put(PARQUET_CODEC, getParquetCodec().name());
+        settings.put(PARQUET_ROW_GROUP_SIZE, String.valueOf(getParquetRowGroupSize()));
+        settings.put(PARQUET_PAGE_SIZE, String.valueOf(getParquetPageSize()));
+        settings.put(PARQUET_DICTIONARY, String.valueOf(isParquetDictionary()));
+        settings.put(XLS_ROWS_PER_SHEET, String.valueOf(getXlsRowsPerSheet()));
+        return settings;
+    }
+
+    /**
+     * @brief This method returns the compression codec of the Avro files
+     * @return codec, no compression unless another is asked for
+     */
+    public CodecFactory getAvroCodec() {
+        return AvroSerialiser.parseCodec(getString(AVRO_CODEC, DataFileConstants.NULL_CODEC));
+    }
+
+    /**
+     * @brief This method returns the approximate number of uncompressed bytes per Avro block
+     * @return sync interval in bytes
+     */
+    public int getAvroSyncInterval() {
+        return getPositiveInt(AVRO_SYNC_INTERVAL, DataFileConstants.DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * @brief This method returns how the records are encoded to Avro
+     * @return writer, the direct one unless another is asked for
+     */
+    public AvroWriter getAvroWriter() {
+        return AvroWriter.fromName(getString(AVRO_WRITER, AvroWriter.DIRECT.name()));
+    }
+
+    /**
+     * @brief This method returns the layout of the JSON files
+     * @return style, compact unless another is asked for
+     */
+    public JsonStyle getJsonStyle() {
+        return JsonStyle.fromName(getString(JSON_STYLE, JsonStyle.COMPACT.name()));
+    }
+
+    /**
+     * @brief This method returns the size of the buffer between the serialisers and the output file
+     * @return buffer size in bytes
+     */
+    public int getBufferSize() {
+        return getPositiveInt(BUFFER_SIZE, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @brief This method returns the way the bytes of the data files are written to disk
+     * @return output IO, a buffered file stream unless another is asked for
+     */
+    public OutputIo getOutputIo() {
+        return OutputIo.fromName(getString(OUTPUT_IO, OutputIo.STREAM.name()));
+    }
+
+    /**
+     * @brief This method returns the number of bytes of a file mapped at a time by {@code --output-io=mmap}
+     * @return region size in bytes
+     */
+    public int getMmapRegionSize() {
+        return getPositiveInt(MMAP_REGION_SIZE, DEFAULT_MMAP_REGION_SIZE);
+    }
+
+    /**
+     * @brief This method returns the format of the data files
+     * @param defaultFormat format used when the option is not given, the one picked by the positional arguments
+     * @return output format
+     */
+    public OutputFormat getOutputFormat(final OutputFormat defaultFormat) {
+        String format = values.get(OUTPUT_FORMAT);
+        return null == format ? defaultFormat : OutputFormat.fromName(format);
+    }
+
+    /**
+     * @brief This method checks if text data files are gzip compressed
+     * @return true if they are compressed
+     */
+    public boolean isGzip() {
+        return Boolean.parseBoolean(getString(GZIP, "false"));
+    }
+
+    /**
+     * @brief This method returns the number of phone numbers of a record given CSV columns
+     * @return number of phone numbers
+     */
+    public int getCsvPhoneNumbers() {
+        return getPositiveInt(CSV_PHONE_NUMBERS, CsvSerialiser.DEFAULT_PHONE_NUMBERS);
+    }
+
+    /**
+     * @brief This method returns the compression codec of the Parquet files
+     * @return codec, snappy unless another is asked for
+     */
+    public CompressionCodecName getParquetCodec() {
+        return ParquetSerialiser.parseCodec(getString(PARQUET_CODEC, CompressionCodecName.SNAPPY.name()));
+    }
+
+    /**
+     * @brief This method returns the approximate size of a Parquet row group, which is buffered in memory while it is written
+     * @return row group size in bytes
+     */
+    public int getParquetRowGroupSize() {
+        return getPositiveInt(PARQUET_ROW_GROUP_SIZE, ParquetWriter.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @brief This method returns the approximate size of a Parquet page
+     * @return page size in bytes
+     */
+    public int getParquetPageSize() {
+        return getPositiveInt(PARQUET_PAGE_SIZE, ParquetWriter.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @brief This method checks if the Parquet columns are dictionary encoded
+     * @return true unless turned off
+     */
+    public boolean isParquetDictionary() {
+        return Boolean.parseBoolean(getString(PARQUET_DICTIONARY, "true"));
+    }
+
+    /**
+     * @brief This method returns the number of rows of an XLS sheet, header included, before a new sheet is started
+     * @return rows per sheet, by default the most the format allows
+     */
+    public int getXlsRowsPerSheet() {
+        return getPositiveInt(XLS_ROWS_PER_SHEET, XlsSerialiser.MAX_ROWS_PER_SHEET);
+    }
+
+    /**
+     * @brief This method returns an option as a string
+     * @param name option name
+     * @param defaultValue value used when the option is not given
+     * @return option value
+     */
+    public String getString(final String name, final String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * @brief This method returns an option as a strictly positive int
+     * @param name option name
+     * @param defaultValue value used when the option is not given
+     * @return option value
+     */
+    public int getPositiveInt(final String name, final int defaultValue) {
+        String value = values.get(name);
+        if (null == value) {
+            return defaultValue;
+        }
+        int parsed = Integer.parseInt(value);
+        if (parsed < 1) {
+            throw new IllegalArgumentException("--" + name + " must be at least 1 but was " + parsed);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,542 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @class Manifest
+ * @brief This class lists the data files a run of CreateData wrote and how they fit in the whole dataset
+ * @details A run split into shards writes one manifest per shard, named after the shard, listing only the files of
+ * that shard. {@link #stitch(File)} joins the manifests of every shard into the manifest of the whole dataset, the
+ * same one an unsharded run writes.
+ */
+public class Manifest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Manifest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String FILE_NAME = "manifest.json";
+    private static final Pattern SHARD_FILE_NAME = Pattern.compile("manifest-(\\d+)-of-(\\d+)\\.json");
+
+    private long seed;
+    private long numberOfRecords;
+    private int numberOfFiles;
+    private long recordsPerFile;
+    private int shardIndex;
+    private int shardCount = 1;
+    private String format;
+    private String ocupation;
+    private Map<String, String> settings = new TreeMap<>();
+    private List<DataFile> files = new ArrayList<>();
+
+    /**
+     * @brief This method stitches the shard manifests of a directory into the manifest of the whole dataset
+     * @details Run from the command line with the directory holding the files of every shard as argument, it
+     * writes the stitched manifest there
+     * @param args directory of the dataset
+     * @throws IOException if the manifests can't be read or written
+     */
+    public static void main(final String... args) throws IOException {
+        if (args.length < 1) {
+            LOGGER.warn("This method needs the directory holding the manifests of every shard of the dataset.");
+        } else {
+            File directory = new File(args[0]);
+            Manifest manifest = stitch(directory);
+            manifest.write(directory);
+            LOGGER.info("Stitched {} files of {} records into {}", manifest.getFiles().size(), manifest.getNumberOfRecords(),
+                    new File(directory, manifest.fileName()));
+        }
+    }
+
+    /**
+     * @brief This method returns the name of the manifest file of a shard
+     * @param shardIndex index of the shard, from 0
+     * @param shardCount number of shards of the run
+     * @return manifest.json for a run of a single shard, otherwise manifest-K-of-N.json
+     */
+    public static String fileName(final int shardIndex, final int shardCount) {
+        return shardCount == 1 ? FILE_NAME : "manifest-" + shardIndex + "-of-" + shardCount + ".json";
+    }
+
+    /**
+     * @brief This method returns the name of this manifest's file
+     * @return file name
+     */
+    public String fileName() {
+        return fileName(shardIndex, shardCount);
+    }
+
+    /**
+     * @brief This method reads a manifest
+     * @param file manifest file
+     * @return the manifest
+     * @throws IOException if the file can't be read
+     */
+    public static Manifest read(final File file) throws IOException {
+        return MAPPER.readValue(file, Manifest.class);
+    }
+
+    /**
+     * @brief This method writes the manifest into a directory, under its own file name
+     * @details The manifest is written to a temporary file first and then renamed, so it is never seen half written
+     * @param directory directory of the data files, created if needed
+     * @return the manifest file
+     * @throws IOException if the file can't be written
+     */
+    public synchronized File write(final File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create directory " + directory);
+        }
+        File file = new File(directory, fileName());
+        File temporary = new File(directory, fileName() + ".tmp");
+        MAPPER.writeValue(temporary, this);
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    /**
+     * @brief This method joins the manifests of every shard found in a directory
+     * @param directory directory holding the manifest of every shard
+     * @return the manifest of the whole dataset, as a single shard
+     * @throws IOException if a manifest can't be read, is missing or does not belong to the same run
+     */
+    public static Manifest stitch(final File directory) throws IOException {
+        File[] candidates = directory.listFiles((dir, name) -> SHARD_FILE_NAME.matcher(name).matches());
+        if (null == candidates || candidates.length == 0) {
+            throw new IOException("No shard manifests found in " + directory);
+        }
+        Arrays.sort(candidates);
+        Manifest first = read(candidates[0]);
+        Manifest[] shards = new Manifest[first.getShardCount()];
+        for (File candidate : candidates) {
+            Matcher matcher = SHARD_FILE_NAME.matcher(candidate.getName());
+            if (matcher.matches() && Integer.parseInt(matcher.group(2)) == first.getShardCount()) {
+                Manifest shard = read(candidate);
+                if (!shard.isSameRun(first)) {
+                    throw new IOException(candidate + " belongs to another run than " + candidates[0]);
+                }
+                shards[shard.getShardIndex()] = shard;
+            }
+        }
+        Manifest whole = new Manifest(first.getSeed(), first.getNumberOfRecords(), first.getNumberOfFiles(),
+                first.getRecordsPerFile(), 0, 1, first.getFormat(), first.getOcupation(), first.getSettings());
+        for (int shard = 0; shard < shards.length; shard++) {
+            if (null == shards[shard]) {
+                throw new IOException("The manifest of shard " + shard + " of " + shards.length + " is missing from " + directory);
+            }
+            whole.files.addAll(shards[shard].getFiles());
+        }
+        whole.files.sort(Comparator.comparingInt(DataFile::getIndex));
+        if (whole.files.size() != whole.numberOfFiles) {
+            throw new IOException("The shards list " + whole.files.size() + " files but the run has " + whole.numberOfFiles);
+        }
+        return whole;
+    }
+
+    /**
+     * @brief This method builds an empty manifest, used when reading a manifest
+     */
+    public Manifest() {
+    }
+
+    /**
+     * @brief This method builds the manifest of a shard with no files yet
+     * @param seed seed of the run
+     * @param numberOfRecords number of records of the whole run
+     * @param numberOfFiles number of files of the whole run
+     * @param recordsPerFile number of records of each file
+     * @param shardIndex index of the shard, from 0
+     * @param shardCount number of shards of the run
+     * @param format output format of the files
+     * @param ocupation type of person in the files, employees or teachers
+     * @param settings options changing the content of the files, see {@link CreateDataOptions#getContentSettings()}
+     */
+    public Manifest(final long seed, final long numberOfRecords, final int numberOfFiles, final long recordsPerFile,
+                    final int shardIndex, final int shardCount, final String format, final String ocupation,
+                    final Map<String, String> settings) {
+        requireNonNull(settings, "settings");
+        this.seed = seed;
+        this.numberOfRecords = numberOfRecords;
+        this.numberOfFiles = numberOfFiles;
+        this.recordsPerFile = recordsPerFile;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        this.format = format;
+        this.ocupation = ocupation;
+        this.settings = new TreeMap<>(settings);
+    }
+
+    /**
+     * @brief This method adds a written file to the manifest, replacing any earlier description of it
+     * @param file description of the file
+     */
+    public synchronized void complete(final DataFile file) {
+        requireNonNull(file);
+        files.removeIf(listed -> listed.getIndex() == file.getIndex());
+        files.add(file);
+        files.sort(Comparator.comparingInt(DataFile::getIndex));
+    }
+
+    /**
+     * @brief This method finds a file of the manifest by its index in the run
+     * @param index index of the file
+     * @return description of the file, or null if the manifest does not list it
+     */
+    public DataFile getFile(final int index) {
+        return files.stream().filter(file -> file.getIndex() == index).findFirst().orElse(null);
+    }
+
+    /**
+     * @brief This method checks if the manifest lists a file as written and the file is still there, whole
+     * @param file description of the file in the current run
+     * @param directory directory of the data files
+     * @return true if the file has the name, seed and size listed in the manifest
+     */
+    public boolean isWritten(final DataFile file, final File directory) {
+        DataFile listed = getFile(file.getIndex());
+        if (null == listed || !listed.getName().equals(file.getName()) || listed.getSeed() != file.getSeed()) {
+            return false;
+        }
+        File written = new File(directory, listed.getName());
+        return written.isFile() && written.length() == listed.getBytes();
+    }
+
+    /**
+     * @brief This method checks if two manifests describe the same run, or shards of the same run
+     * @param other the other manifest
+     * @return true if the seed, sizes, shard count, format, ocupation and settings agree
+     */
+    public boolean isSameRun(final Manifest other) {
+        return seed == other.seed && numberOfRecords == other.numberOfRecords && numberOfFiles == other.numberOfFiles
+                && recordsPerFile == other.recordsPerFile && shardCount == other.shardCount
+                && String.valueOf(format).equals(String.valueOf(other.format))
+                && String.valueOf(ocupation).equals(String.valueOf(other.ocupation))
+                && settings.equals(other.settings);
+    }
+
+    /**
+     * @brief This method returns the seed
+     * @return seed of the run
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @brief This method assigns the seed
+     * @param seed seed of the run
+     */
+    public void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @brief This method returns the number of records
+     * @return number of records of the whole run
+     */
+    public long getNumberOfRecords() {
+        return numberOfRecords;
+    }
+
+    /**
+     * @brief This method assigns the number of records
+     * @param numberOfRecords number of records of the whole run
+     */
+    public void setNumberOfRecords(final long numberOfRecords) {
+        this.numberOfRecords = numberOfRecords;
+    }
+
+    /**
+     * @brief This method returns the number of files
+     * @return number of files of the whole run
+     */
+    public int getNumberOfFiles() {
+        return numberOfFiles;
+    }
+
+    /**
+     * @brief This method assigns the number of files
+     * @param numberOfFiles number of files of the whole run
+     */
+    public void setNumberOfFiles(final int numberOfFiles) {
+        this.numberOfFiles = numberOfFiles;
+    }
+
+    /**
+     * @brief This method returns the number of records per file
+     * @return number of records of each file
+     */
+    public long getRecordsPerFile() {
+        return recordsPerFile;
+    }
+
+    /**
+     * @brief This method assigns the number of records per file
+     * @param recordsPerFile number of records of each file
+     */
+    public void setRecordsPerFile(final long recordsPerFile) {
+        this.recordsPerFile = recordsPerFile;
+    }
+
+    /**
+     * @brief This method returns the shard index
+     * @return index of the shard, from 0
+     */
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * @brief This method assigns the shard index
+     * @param shardIndex index of the shard, from 0
+     */
+    public void setShardIndex(final int shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    /**
+     * @brief This method returns the shard count
+     * @return number of shards of the run
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @brief This method assigns the shard count
+     * @param shardCount number of shards of the run
+     */
+    public void setShardCount(final int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * @brief This method returns the output format
+     * @return output format of the files
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * @brief This method assigns the output format
+     * @param format output format of the files
+     */
+    public void setFormat(final String format) {
+        this.format = format;
+    }
+
+    /**
+     * @brief This method returns the ocupation
+     * @return type of person in the files, employees or teachers
+     */
+    public String getOcupation() {
+        return ocupation;
+    }
+
+    /**
+     * @brief This method assigns the ocupation
+     * @param ocupation type of person in the files, employees or teachers
+     */
+    public void setOcupation(final String ocupation) {
+        this.ocupation = ocupation;
+    }
+
+    /**
+     * @brief This method returns the options which change the content of the files
+     * @return settings by option name
+     */
+    public Map<String, String> getSettings() {
+        return settings;
+    }
+
+    /**
+     * @brief This method assigns the options which change the content of the files
+     * @param settings settings by option name
+     */
+    public void setSettings(final Map<String, String> settings) {
+        this.settings = null == settings ? new TreeMap<>() : new TreeMap<>(settings);
+    }
+
+    /**
+     * @brief This method returns the files of the manifest
+     * @return files ordered by their index in the run
+     */
+    public List<DataFile> getFiles() {
+        return files;
+    }
+
+    /**
+     * @brief This method assigns the files of the manifest
+     * @param files files of the manifest
+     */
+    public void setFiles(final List<DataFile> files) {
+        requireNonNull(files);
+        this.files = new ArrayList<>(files);
+    }
+
+    /**
+     * @class Data File
+     * @brief This class describes one data file of a run
+     */
+    public static class DataFile {
+        private int index;
+        private String name;
+        private long seed;
+        private long firstRecord;
+        private long records;
+        private long bytes;
+
+        /**
+         * @brief This method builds an empty description, used when reading a manifest
+         */
+        public DataFile() {
+        }
+
+        /**
+         * @brief This method describes a data file
+         * @param index index of the file in the run
+         * @param name name of the file, relative to the directory of the run
+         * @param seed seed of the file
+         * @param firstRecord index in the whole run of the first record of the file
+         * @param records number of records of the file
+         * @param bytes size of the file
+         */
+        public DataFile(final int index, final String name, final long seed, final long firstRecord, final long records,
+                        final long bytes) {
+            this.index = index;
+            this.name = name;
+            this.seed = seed;
+            this.firstRecord = firstRecord;
+            this.records = records;
+            this.bytes = bytes;
+        }
+
+        /**
+         * @brief This method returns the index
+         * @return index of the file in the run
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @brief This method assigns the index
+         * @param index index of the file in the run
+         */
+        public void setIndex(final int index) {
+            this.index = index;
+        }
+
+        /**
+         * @brief This method returns the name
+         * @return name of the file, relative to the directory of the run
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @brief This method assigns the name
+         * @param name name of the file, relative to the directory of the run
+         */
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * @brief This method returns the seed
+         * @return seed of the file
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * @brief This method assigns the seed
+         * @param seed seed of the file
+         */
+        public void setSeed(final long seed) {
+            this.seed = seed;
+        }
+
+        /**
+         * @brief This method returns the first record
+         * @return index in the whole run of the first record of the file
+         */
+        public long getFirstRecord() {
+            return firstRecord;
+        }
+
+        /**
+         * @brief This method assigns the first record
+         * @param firstRecord index in the whole run of the first record of the file
+         */
+        public void setFirstRecord(final long firstRecord) {
+            this.firstRecord = firstRecord;
+        }
+
+        /**
+         * @brief This method returns the number of records
+         * @return number of records of the file
+         */
+        public long getRecords() {
+            return records;
+        }
+
+        /**
+         * @brief This method assigns the number of records
+         * @param records number of records of the file
+         */
+        public void setRecords(final long records) {
+            this.records = records;
+        }
+
+        /**
+         * @brief This method returns the size
+         * @return size of the file in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @brief This method assigns the size
+         * @param bytes size of the file in bytes
+         */
+        public void setBytes(final long bytes) {
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @class Parallel Record Generator
+ * @brief This class generates the records of a single file on several threads and returns them in order
+ * @details The records are split into batches which are dealt round robin to the workers: batch b is always
+ * generated by worker b % workers, each worker draws from its own random sub-stream derived from the seed, and
+ * the batches are read back in batch order. The output is therefore the same for a given seed and worker count.
+ * @details When seekable, every record draws from its own random source derived from the seed and its index instead,
+ * so the output is the same whatever the number of workers.
+ * @details A worker is not a thread but a chain of batches: each batch is queued on the pool once the previous batch
+ * of its worker is generated, and a window of batches is kept queued ahead of the reader. No task ever waits, so the
+ * pool can be shared by every file of a run, and its threads, with their Fakers, are reused from file to file.
+ *
+ * @param <T> the record type
+ */
+public final class ParallelRecordGenerator<T> implements Iterator<T>, Closeable {
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+    public static final int DEFAULT_QUEUE_DEPTH = 4;
+    // sub-stream of the seed the workers draw from, seekable records use 0 upwards
+    private static final long WORKER_STREAM = -4L;
+
+    private final Function<Random, T> generator;
+    private final long seed;
+    private final LongFunction<Random> randomFactory;
+    private final boolean seekable;
+    private final long numberOfRecords;
+    private final int workers;
+    private final int batchSize;
+    private final long numberOfBatches;
+    private final int window;
+    private final ExecutorService executor;
+    private final boolean ownExecutor;
+    private final List<Random> randoms;
+    private final List<CompletableFuture<List<T>>> lastOfWorker;
+    private final Deque<CompletableFuture<List<T>>> queued = new ArrayDeque<>();
+
+    private List<T> currentBatch = Collections.emptyList();
+    private int position;
+    private long nextBatch;
+
+    /**
+     * @brief This method builds a generator with the default batch size and queue depth
+     * @param generator function creating one record from a random source
+     * @param numberOfRecords number of records to generate
+     * @param workers number of workers, batches of one worker are generated one after the other
+     * @param seed seed of the file
+     * @param randomFactory function creating the random source of a worker from its seed
+     */
+    public ParallelRecordGenerator(final Function<Random, T> generator, final long numberOfRecords, final int workers,
+                                   final long seed, final LongFunction<Random> randomFactory) {
+        this(generator, numberOfRecords, workers, seed, randomFactory, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_DEPTH);
+    }
+
+    /**
+     * @brief This method builds a generator and starts its workers on a pool of its own
+     * @param generator function creating one record from a random source
+     * @param numberOfRecords number of records to generate
+     * @param workers number of workers, batches of one worker are generated one after the other
+     * @param seed seed of the file
+     * @param randomFactory function creating the random source of a worker from its seed
+     * @param batchSize number of records handed over at a time
+     * @param queueDepth number of batches of each worker which may be queued or waiting to be read
+     */
+    public ParallelRecordGenerator(final Function<Random, T> generator, final long numberOfRecords, final int workers,
+                                   final long seed, final LongFunction<Random> randomFactory,
+                                   final int batchSize, final int queueDepth) {
+        this(generator, numberOfRecords, workers, seed, randomFactory, batchSize, queueDepth, false);
+    }
+
+    /**
+     * @brief This method builds a generator and starts its workers on a pool of its own
+     * @param generator function creating one record from a random source
+     * @param numberOfRecords number of records to generate
+     * @param workers number of workers, batches of one worker are generated one after the other
+     * @param seed seed of the file
+     * @param randomFactory function creating a random source from its seed
+     * @param batchSize number of records handed over at a time
+     * @param queueDepth number of batches of each worker which may be queued or waiting to be read
+     * @param seekable true to give every record its own random source, false for one per worker
+     */
+    public ParallelRecordGenerator(final Function<Random, T> generator, final long numberOfRecords, final int workers,
+                                   final long seed, final LongFunction<Random> randomFactory,
+                                   final int batchSize, final int queueDepth, final boolean seekable) {
+        this(generator, numberOfRecords, workers, seed, randomFactory, batchSize, queueDepth, seekable, null);
+    }
+
+    /**
+     * @brief This method builds a generator and starts its workers
+     * @param generator function creating one record from a random source
+     * @param numberOfRecords number of records to generate
+     * @param workers number of workers, batches of one worker are generated one after the other
+     * @param seed seed of the file
+     * @param randomFactory function creating a random source from its seed
+     * @param batchSize number of records handed over at a time
+     * @param queueDepth number of batches of each worker which may be queued or waiting to be read
+     * @param seekable true to give every record its own random source, false for one per worker
+     * @param executor pool shared by the files of the run, or null for a pool of its own of one thread per worker
+     */
+    public ParallelRecordGenerator(final Function<Random, T> generator, final long numberOfRecords, final int workers,
+                                   final long seed, final LongFunction<Random> randomFactory,
+                                   final int batchSize, final int queueDepth, final boolean seekable,
+                                   final ExecutorService executor) {
+        requireNonNull(generator, "generator");
+        requireNonNull(randomFactory, "randomFactory");
+        if (workers < 1 || batchSize < 1 || queueDepth < 1) {
+            throw new IllegalArgumentException("workers, batchSize and queueDepth must all be at least 1");
+        }
+        this.generator = generator;
+        this.seed = seed;
+        this.randomFactory = randomFactory;
+        this.seekable = seekable;
+        this.numberOfRecords = numberOfRecords;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.numberOfBatches = (numberOfRecords + batchSize - 1) / batchSize;
+        this.window = workers * queueDepth;
+        this.ownExecutor = null == executor;
+        this.executor = ownExecutor ? Executors.newFixedThreadPool(workers, CreateData.createDaemonThreadFactory()) : executor;
+        this.randoms = new ArrayList<>(workers);
+        this.lastOfWorker = new ArrayList<>(Collections.nCopies(workers, null));
+        final long workerSeed = SeedHelper.derive(seed, WORKER_STREAM);
+        for (int worker = 0; worker < workers; worker++) {
+            randoms.add(seekable ? null : randomFactory.apply(SeedHelper.derive(workerSeed, worker)));
+        }
+        while (queued.size() < window && nextBatch < numberOfBatches) {
+            queueNext();
+        }
+    }
+
+    /**
+     * @brief This method returns the records as a stream which stops the workers when closed
+     * @return ordered stream of records
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliterator(this, numberOfRecords, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * @brief This method checks if there are more records
+     * @return true if there are more records
+     */
+    @Override
+    public boolean hasNext() {
+        return position < currentBatch.size() || !queued.isEmpty();
+    }
+
+    /**
+     * @brief This method returns the next record, waiting for its worker if needed
+     * @return next record
+     */
+    @Override
+    public T next() {
+        if (position == currentBatch.size()) {
+            CompletableFuture<List<T>> batch = queued.poll();
+            if (null == batch) {
+                throw new NoSuchElementException();
+            }
+            if (nextBatch < numberOfBatches) {
+                queueNext();
+            } else if (queued.isEmpty() && ownExecutor) {
+                executor.shutdown();
+            }
+            currentBatch = take(batch);
+            position = 0;
+        }
+        return currentBatch.get(position++);
+    }
+
+    /**
+     * @brief This method cancels the batches still queued, and stops the pool if it is its own
+     */
+    @Override
+    public void close() {
+        for (CompletableFuture<List<T>> batch : queued) {
+            batch.cancel(true);
+        }
+        queued.clear();
+        if (ownExecutor) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @brief This method queues the next batch, after the previous batch of its worker
+     */
+    private void queueNext() {
+        final long batch = nextBatch++;
+        final int worker = (int) (batch % workers);
+        CompletableFuture<List<T>> previous = lastOfWorker.get(worker);
+        CompletableFuture<List<T>> next = null == previous
+                ? CompletableFuture.supplyAsync(() -> produce(batch, worker), executor)
+                : previous.thenApplyAsync(ignored -> produce(batch, worker), executor);
+        lastOfWorker.set(worker, next);
+        queued.add(next);
+    }
+
+    /**
+     * @brief This method generates the records of a batch
+     * @param batch index of the batch
+     * @param worker index of the worker the batch belongs to
+     * @return records of the batch
+     */
+    private List<T> produce(final long batch, final int worker) {
+        int size = (int) Math.min(batchSize, numberOfRecords - batch * batchSize);
+        List<T> records = new ArrayList<>(size);
+        Random random = randoms.get(worker);
+        for (int i = 0; i < size; i++) {
+            records.add(generator.apply(seekable ? recordRandom(batch * batchSize + i) : random));
+        }
+        return records;
+    }
+
+    /**
+     * @brief This method creates the random source of a single record
+     * @param index index of the record
+     * @return random source seeded from the seed and the index
+     */
+    private Random recordRandom(final long index) {
+        return randomFactory.apply(SeedHelper.derive(seed, index));
+    }
+
+    /**
+     * @brief This method waits for a batch to be generated
+     * @param batch the queued batch
+     * @return records of the batch
+     */
+    private List<T> take(final CompletableFuture<List<T>> batch) {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for records", e);
+        } catch (ExecutionException e) {
+            close();
+            throw new RuntimeException("Record generation failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import org.apache.avro.io.Encoder;
+import uk.gov.gchq.syntheticdatagenerator.types.Address;
+import uk.gov.gchq.syntheticdatagenerator.types.BankDetails;
+import uk.gov.gchq.syntheticdatagenerator.types.EmergencyContact;
+import uk.gov.gchq.syntheticdatagenerator.types.Manager;
+import uk.gov.gchq.syntheticdatagenerator.types.PhoneNumber;
+import uk.gov.gchq.syntheticdatagenerator.types.WorkLocation;
+
+import java.io.IOException;
+
+/**
+ * @class Avro Record Encoder
+ * @brief This class encodes the types shared by the records straight from their getters
+ * @details It follows the schemas in {@code src/main/resources/avro}: every field other than an int is a
+ * {@code ["null", type]} union, written as branch 0 when the value is null and branch 1 followed by the value
+ * otherwise, and enums are written by ordinal since their symbols are listed in declaration order.
+ */
+final class AvroRecordEncoder {
+    private static final int NULL_BRANCH = 0;
+    private static final int VALUE_BRANCH = 1;
+
+    private AvroRecordEncoder() {
+    }
+
+    /**
+     * @brief This method writes the branch of a nullable field
+     * @param value value of the field
+     * @param out encoder
+     * @return true if the value is not null and has to be written next
+     * @throws IOException if the encoder fails
+     */
+    static boolean writeBranch(final Object value, final Encoder out) throws IOException {
+        if (null == value) {
+            out.writeIndex(NULL_BRANCH);
+            return false;
+        }
+        out.writeIndex(VALUE_BRANCH);
+        return true;
+    }
+
+    /**
+     * @brief This method writes a nullable string
+     * @param value string to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    static void writeString(final String value, final Encoder out) throws IOException {
+        if (writeBranch(value, out)) {
+            out.writeString(value);
+        }
+    }
+
+    /**
+     * @brief This method writes a nullable long
+     * @param value number to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    static void writeLong(final Long value, final Encoder out) throws IOException {
+        if (writeBranch(value, out)) {
+            out.writeLong(value);
+        }
+    }
+
+    /**
+     * @brief This method writes a nullable enum
+     * @param value enum constant to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    static void writeEnum(final Enum<?> value, final Encoder out) throws IOException {
+        if (writeBranch(value, out)) {
+            out.writeEnum(value.ordinal());
+        }
+    }
+
+    /**
+     * @brief This method writes a nullable list of phone numbers
+     * @param numbers phone numbers to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    static void writePhoneNumbers(final PhoneNumber[] numbers, final Encoder out) throws IOException {
+        if (writeBranch(numbers, out)) {
+            out.writeArrayStart();
+            out.setItemCount(numbers.length);
+            for (PhoneNumber number : numbers) {
+                out.startItem();
+                writeString(number.getType(), out);
+                writeString(number.getPhoneNumber(), out);
+            }
+            out.writeArrayEnd();
+        }
+    }
+
+    /**
+     * @brief This method writes a nullable list of emergency contacts
+     * @param contacts emergency contacts to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    static void writeEmergencyContacts(final EmergencyContact[] contacts, final Encoder out) throws IOException {
+        if (writeBranch(contacts, out)) {
+            out.writeArrayStart();
+            out.setItemCount(contacts.length);
+            for (EmergencyContact contact : contacts) {
+                out.startItem();
+                writeString(contact.getContactName(), out);
+                writeEnum(contact.getRelation(), out);
+                writePhoneNumbers(contact.getContactNumbers(), out);
+            }
+            out.writeArrayEnd();
+        }
+    }
+
+    /**
+     * @brief This method writes a nullable address
+     * @param address address to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    static void writeAddress(final Address address, final Encoder out) throws IOException {
+        if (writeBranch(address, out)) {
+            writeString(address.getStreetAddressNumber(), out);
+            writeString(address.getStreetName(), out);
+            writeString(address.getCity(), out);
+            writeString(address.getState(), out);
+            writeString(address.getZipCode(), out);
+        }
+    }
+
+    /**
+     * @brief This method writes nullable bank details
+     * @param bankDetails bank details to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    static void writeBankDetails(final BankDetails bankDetails, final Encoder out) throws IOException {
+        if (writeBranch(bankDetails, out)) {
+            writeString(bankDetails.getSortCode(), out);
+            writeString(bankDetails.getAccountNumber(), out);
+        }
+    }
+
+    /**
+     * @brief This method writes a nullable list of managers and, recursively, their own managers
+     * @param managers managers to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    static void writeManagers(final Manager[] managers, final Encoder out) throws IOException {
+        if (writeBranch(managers, out)) {
+            out.writeArrayStart();
+            out.setItemCount(managers.length);
+            for (Manager manager : managers) {
+                out.startItem();
+                writeString(manager.getUid(), out);
+                writeManagers(manager.hasManagers() ? manager.getManager() : null, out);
+                writeString(manager.getManagerType(), out);
+            }
+            out.writeArrayEnd();
+        }
+    }
+
+    /**
+     * @brief This method writes a nullable work location
+     * @param workLocation work location to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    static void writeWorkLocation(final WorkLocation workLocation, final Encoder out) throws IOException {
+        if (writeBranch(workLocation, out)) {
+            writeEnum(workLocation.getWorkLocationName(), out);
+            writeAddress(workLocation.getAddress(), out);
+        }
+    }
+}
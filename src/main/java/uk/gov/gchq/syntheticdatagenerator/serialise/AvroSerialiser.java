@@ -18,18 +18,30 @@ package uk.gov.gchq.syntheticdatagenerator.serialise;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileReader;
 import org.apache.avro.file.DataFileStream;
 import org.apache.avro.file.DataFileWriter;
-import org.apache.avro.reflect.ReflectData;
+import org.apache.avro.file.SeekableFileInput;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.DatumWriter;
 import org.apache.avro.reflect.ReflectDatumReader;
-import org.apache.avro.reflect.ReflectDatumWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -47,10 +59,13 @@ import static java.util.Objects.requireNonNull;
 public class AvroSerialiser<O> implements Serialiser<O> {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(AvroSerialiser.class);
-    private final ReflectDatumWriter<O> datumWriter;
+    private final DatumWriter<O> datumWriter;
 
     private final Class<O> domainClass;
     private final Schema schema;
+    private final byte[] syncMarker;
+    private final CodecFactory codec;
+    private final int syncInterval;
 
     /**
      * @brief This method builds a domain in order to create serialization in avro format
@@ -58,10 +73,75 @@ public class AvroSerialiser<O> implements Serialiser<O> {
      */
     @JsonCreator
     public AvroSerialiser(@JsonProperty("domainClass") final Class<O> domainClass) {
+        this(domainClass, null);
+    }
+
+    /**
+     * @brief This method builds a domain in order to create serialization in avro format with a fixed sync marker
+     * @details Avro picks a random sync marker for every file unless one is given, so a fixed marker is needed for
+     * the same records to always give the same bytes
+     * @param domainClass class domain
+     * @param syncMarker 16 byte sync marker, or null to let Avro pick one
+     */
+    public AvroSerialiser(final Class<O> domainClass, final byte[] syncMarker) {
+        this(domainClass, syncMarker, CodecFactory.nullCodec(), DataFileConstants.DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * @brief This method builds a domain in order to create compressed serialization in avro format
+     * @param domainClass class domain
+     * @param syncMarker 16 byte sync marker, or null to let Avro pick one
+     * @param codec compression codec applied to every block
+     * @param syncInterval approximate number of uncompressed bytes written per block
+     */
+    public AvroSerialiser(final Class<O> domainClass, final byte[] syncMarker, final CodecFactory codec, final int syncInterval) {
+        this(domainClass, syncMarker, codec, syncInterval, AvroWriter.DIRECT);
+    }
+
+    /**
+     * @brief This method builds a domain in order to create compressed serialization in avro format with a chosen writer
+     * @param domainClass class domain
+     * @param syncMarker 16 byte sync marker, or null to let Avro pick one
+     * @param codec compression codec applied to every block
+     * @param syncInterval approximate number of uncompressed bytes written per block
+     * @param writer how the records are encoded
+     */
+    public AvroSerialiser(final Class<O> domainClass, final byte[] syncMarker, final CodecFactory codec, final int syncInterval,
+                          final AvroWriter writer) {
         requireNonNull(domainClass, "domainClass is required");
+        requireNonNull(codec, "codec is required");
+        requireNonNull(writer, "writer is required");
         this.domainClass = domainClass;
-        this.schema = ReflectData.AllowNull.get().getSchema(domainClass);
-        this.datumWriter = new ReflectDatumWriter<>(schema);
+        this.schema = AvroWriter.schemaOf(domainClass);
+        this.datumWriter = writer.create(domainClass, schema);
+        this.syncMarker = null == syncMarker ? null : syncMarker.clone();
+        this.codec = codec;
+        this.syncInterval = syncInterval;
+    }
+
+    /**
+     * @brief This method parses a codec given as its Avro name, optionally followed by a compression level
+     * @details For example {@code null}, {@code snappy}, {@code bzip2}, {@code deflate:6}, {@code xz:3} or {@code zstandard:3}
+     * @param codec codec name and level separated by a colon
+     * @return the codec
+     */
+    public static CodecFactory parseCodec(final String codec) {
+        int split = codec.indexOf(':');
+        if (split < 0) {
+            return CodecFactory.fromString(codec);
+        }
+        String name = codec.substring(0, split);
+        int level = Integer.parseInt(codec.substring(split + 1));
+        switch (name) {
+            case DataFileConstants.DEFLATE_CODEC:
+                return CodecFactory.deflateCodec(level);
+            case DataFileConstants.XZ_CODEC:
+                return CodecFactory.xzCodec(level);
+            case DataFileConstants.ZSTANDARD_CODEC:
+                return CodecFactory.zstandardCodec(level);
+            default:
+                throw new IllegalArgumentException("Codec " + name + " does not take a compression level");
+        }
     }
 
     /**
@@ -92,29 +172,179 @@ public class AvroSerialiser<O> implements Serialiser<O> {
         if (nonNull(objects)) {
             //create a data file writer around the output stream
             //since we didn't create the output stream, we shouldn't close it either, someone else might want it afterwards!
-            final DataFileWriter<O> dataFileWriter = new DataFileWriter<>(datumWriter);
+            final DataFileWriter<O> dataFileWriter = createWriter();
             LOGGER.debug("Creating data file writer");
-            try {
+            if (null == syncMarker) {
                 dataFileWriter.create(schema, output);
-                //iterate and append items -- we can't use forEach on the stream as the lambda can't throw an IOException
-                Iterator<O> objectIt = objects.iterator();
+            } else {
+                dataFileWriter.create(schema, output, syncMarker);
+            }
+            write(dataFileWriter, objects);
+        }
+    }
 
-                while (objectIt.hasNext()) {
-                    O next = objectIt.next();
-                    dataFileWriter.append(next);
-                }
+    /**
+     * @brief This method appends records to the end of an Avro file, keeping the schema, codec and sync marker of the file
+     * @param objects the stream of objects to be serialised
+     * @param file the Avro file, which must end on a block boundary, see {@link #recover(File)}
+     * @param output the output stream appending to the file
+     * @throws IOException found problems in the serialization process
+     */
+    public void append(final Stream<O> objects, final File file, final OutputStream output) throws IOException {
+        requireNonNull(file, "file");
+        requireNonNull(output, "output");
+        if (nonNull(objects)) {
+            final DataFileWriter<O> dataFileWriter = createWriter();
+            LOGGER.debug("Appending to data file {}", file);
+            try (SeekableFileInput input = new SeekableFileInput(file)) {
+                dataFileWriter.appendTo(input, output);
+            }
+            write(dataFileWriter, objects);
+        }
+    }
 
-            } catch (Exception ex) {
-                LOGGER.error("Error occurred: {}", ex.getMessage());
-            } finally {
-                try {
-                    dataFileWriter.flush();
-                } catch (IOException e) {
-                    LOGGER.warn("Unable to flush Avro DataFileWriter", e);
+    /**
+     * @brief This method truncates a partly written Avro file after its last complete block
+     * @details A block is complete when all its bytes and the sync marker which ends it were written, so the file is
+     * walked block by block from the header without decoding any record
+     * @param file the Avro file
+     * @return number of records kept in the file, or -1 if not even the header was written
+     * @throws IOException if the file can't be read or truncated
+     */
+    public static long recover(final File file) throws IOException {
+        long headerLength;
+        try (DataFileReader<Object> reader = new DataFileReader<>(file, new GenericDatumReader<>())) {
+            // the header ends with the sync marker, so the first sync point is the end of the header
+            headerLength = reader.previousSync();
+        } catch (IOException | AvroRuntimeException e) {
+            LOGGER.debug("No complete Avro header in {}", file, e);
+            return -1;
+        }
+        long records = 0;
+        long end = headerLength;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] sync = new byte[DataFileConstants.SYNC_SIZE];
+            raf.seek(headerLength - sync.length);
+            raf.readFully(sync);
+            byte[] marker = new byte[sync.length];
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(raf.getChannel())))) {
+                long position = headerLength;
+                while (position < raf.length()) {
+                    long count = readLong(in);
+                    long size = readLong(in);
+                    position += varLongLength(count) + varLongLength(size) + size + marker.length;
+                    if (count < 0 || size < 0 || position > raf.length()) {
+                        break;
+                    }
+                    skipFully(in, size);
+                    in.readFully(marker);
+                    if (!Arrays.equals(sync, marker)) {
+                        break;
+                    }
+                    records += count;
+                    end = position;
                 }
-                dataFileWriter.close();
+            } catch (EOFException e) {
+                LOGGER.debug("Partial block at the end of {}", file, e);
+            }
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(end);
+        }
+        return records;
+    }
+
+    /**
+     * @brief This method creates a data file writer with the codec and sync interval of the serialiser
+     * @return the data file writer
+     */
+    private DataFileWriter<O> createWriter() {
+        final DataFileWriter<O> dataFileWriter = new DataFileWriter<>(datumWriter)
+                .setCodec(codec)
+                .setSyncInterval(syncInterval);
+        // blocks are flushed as the output stream's own buffer fills, not one flush per block
+        dataFileWriter.setFlushOnEveryBlock(false);
+        return dataFileWriter;
+    }
+
+    /**
+     * @brief This method appends the records to an open data file writer and closes it
+     * @param dataFileWriter the data file writer
+     * @param objects the stream of objects to be serialised
+     * @throws IOException found problems in the serialization process
+     */
+    private static <O> void write(final DataFileWriter<O> dataFileWriter, final Stream<O> objects) throws IOException {
+        try {
+            //iterate and append items -- we can't use forEach on the stream as the lambda can't throw an IOException
+            Iterator<O> objectIt = objects.iterator();
+
+            while (objectIt.hasNext()) {
+                O next = objectIt.next();
+                dataFileWriter.append(next);
             }
+
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.error("Error occurred: {}", ex.getMessage());
+            // the file is incomplete, so the caller must not take it as written
+            throw ex;
+        } finally {
+            try {
+                dataFileWriter.flush();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to flush Avro DataFileWriter", e);
+            }
+            dataFileWriter.close();
+        }
+    }
+
+    /**
+     * @brief This method reads a zig-zag variable length long, as Avro writes the record count and size of a block
+     * @param in input positioned at the long
+     * @return the long
+     * @throws IOException if the input ends before the long
+     */
+    private static long readLong(final DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0 && shift < Long.SIZE);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @brief This method skips bytes of an input
+     * @param in the input
+     * @param length number of bytes to skip
+     * @throws IOException if the input ends first
+     */
+    private static void skipFully(final InputStream in, final long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * @brief This method returns the number of bytes of a long written as a zig-zag variable length long
+     * @param value the long
+     * @return number of bytes
+     */
+    private static int varLongLength(final long value) {
+        long zigZag = (value << 1) ^ (value >> (Long.SIZE - 1));
+        int length = 1;
+        while ((zigZag & ~0x7FL) != 0) {
+            zigZag >>>= 7;
+            length++;
         }
+        return length;
     }
 
     /**
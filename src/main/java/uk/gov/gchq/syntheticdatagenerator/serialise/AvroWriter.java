@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.reflect.ReflectData;
+import org.apache.avro.reflect.ReflectDatumWriter;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Teacher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+/**
+ * @enum Avro Writer
+ * @brief This enum class lists the ways the records can be encoded to Avro
+ * @details Both writers give the same bytes for the same records, the direct writer only avoids reflection
+ */
+public enum AvroWriter {
+    /**
+     * Avro's {@link ReflectDatumWriter}, which reads every field of every record reflectively
+     */
+    REFLECT {
+        @Override
+        public <O> DatumWriter<O> create(final Class<O> domainClass, final Schema schema) {
+            return new ReflectDatumWriter<>(schema);
+        }
+    },
+    /**
+     * A hand written writer calling the getters of the record directly, for the classes that have one.
+     * Any other class falls back to the reflect writer.
+     */
+    DIRECT {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <O> DatumWriter<O> create(final Class<O> domainClass, final Schema schema) {
+            if (Employee.class.equals(domainClass)) {
+                return (DatumWriter<O>) new EmployeeDatumWriter();
+            } else if (Teacher.class.equals(domainClass)) {
+                return (DatumWriter<O>) new TeacherDatumWriter();
+            }
+            return REFLECT.create(domainClass, schema);
+        }
+    };
+
+    private static final String SCHEMA_DIRECTORY = "/avro/";
+    private static final String SCHEMA_EXTENSION = ".avsc";
+
+    /**
+     * @brief This method creates the datum writer of a class
+     * @param domainClass the record class
+     * @param schema schema of the record class
+     * @param <O> the record type
+     * @return the datum writer
+     */
+    public abstract <O> DatumWriter<O> create(Class<O> domainClass, Schema schema);
+
+    /**
+     * @brief This method returns the schema of a class
+     * @details The schema is read from {@code avro/<simple class name>.avsc} when there is one for this class,
+     * otherwise it is built reflectively as before
+     * @param domainClass the record class
+     * @return the schema
+     */
+    public static Schema schemaOf(final Class<?> domainClass) {
+        try (InputStream schema = AvroWriter.class.getResourceAsStream(SCHEMA_DIRECTORY + domainClass.getSimpleName() + SCHEMA_EXTENSION)) {
+            if (null != schema) {
+                Schema parsed = new Schema.Parser().parse(schema);
+                if (parsed.getFullName().equals(domainClass.getName())) {
+                    return parsed;
+                }
+            }
+            return ReflectData.AllowNull.get().getSchema(domainClass);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read the schema of " + domainClass.getName(), e);
+        }
+    }
+
+    /**
+     * @brief This method finds a writer by its name, ignoring case
+     * @param name name of the writer
+     * @return the writer
+     */
+    public static AvroWriter fromName(final String name) {
+        return AvroWriter.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code CsvSerialiser} writes Employees or Teachers as CSV, one row per record after a header row.
+ * Nested records are flattened into columns: the address, bank details and work location in full, the first
+ * phone numbers, the first emergency contact and, for each of the three managers, its type, uid and the uids of
+ * the managers of the same type above it separated by {@code /}. As parts of every record are left out the
+ * rows can't be read back, so the serialiser is write only.
+ *
+ * @param <O> the domain object type
+ */
+public class CsvSerialiser<O> implements Serialiser<O> {
+    private static final long serialVersionUID = 1L;
+    // number of phone numbers given columns by the CSV and XLS serialisers unless asked otherwise
+    public static final int DEFAULT_PHONE_NUMBERS = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Class<O> domainClass;
+    private final int phoneNumbers;
+    private final RecordLayout<O> layout;
+
+    /**
+     * @brief This method builds a CSV serialiser writing the first two phone numbers of a record
+     * @param domainClass class domain, Employee or Teacher
+     */
+    public CsvSerialiser(final Class<O> domainClass) {
+        this(domainClass, DEFAULT_PHONE_NUMBERS);
+    }
+
+    /**
+     * @brief This method builds a CSV serialiser
+     * @param domainClass class domain, Employee or Teacher
+     * @param phoneNumbers number of phone numbers of a record given columns, any others are left out
+     */
+    public CsvSerialiser(final Class<O> domainClass, final int phoneNumbers) {
+        requireNonNull(domainClass, "domainClass is required");
+        if (phoneNumbers < 0) {
+            throw new IllegalArgumentException("phoneNumbers can't be negative but was " + phoneNumbers);
+        }
+        this.domainClass = domainClass;
+        this.phoneNumbers = phoneNumbers;
+        this.layout = RecordLayout.of(domainClass, phoneNumbers);
+    }
+
+    /**
+     * @brief This method serialises the records as CSV
+     * @param objects the stream of objects to be serialised
+     * @param output  the output stream to write the serialised bytes to, flushed but not closed
+     * @throws IOException found problems in the serialization process
+     */
+    @Override
+    public void serialise(final Stream<O> objects, final OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        if (nonNull(objects)) {
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            CsvWriter csv = new CsvWriter(writer, BUFFER_SIZE);
+            layout.writeHeader(csv);
+            csv.endRecord();
+            //iterate and append items -- we can't use forEach on the stream as the lambda can't throw an IOException
+            Iterator<O> objectIt = objects.iterator();
+            while (objectIt.hasNext()) {
+                layout.write(objectIt.next(), csv);
+                csv.endRecord();
+            }
+            csv.flush();
+        }
+    }
+
+    /**
+     * @brief This method returns the column names
+     * @return column names in order
+     */
+    public List<String> getHeaders() {
+        return layout.getHeaders();
+    }
+
+    /**
+     * @brief This method returns the domain class
+     * @return the domain class
+     */
+    public Class<O> getDomainClass() {
+        return domainClass;
+    }
+
+    /**
+     * @brief This method returns the number of phone numbers given columns
+     * @return number of phone numbers
+     */
+    public int getPhoneNumbers() {
+        return phoneNumbers;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import uk.gov.gchq.syntheticdatagenerator.utils.DigitHelper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @class CSV Writer
+ * @brief This class writes CSV fields into a reusable char buffer which is handed to a {@link Writer} when full
+ * @details Fields are separated by commas and records end with a line feed. A field is quoted only when it holds a
+ * comma, a quote or a line break, and quotes inside it are doubled. Numbers are written digit by digit, so no
+ * strings are built for the fields.
+ */
+final class CsvWriter implements FieldWriter {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char END_OF_RECORD = '\n';
+    // longest long, with its sign
+    private static final int MAX_NUMBER_LENGTH = 20;
+
+    private final Writer out;
+    private final char[] buffer;
+    private final StringBuilder scratch = new StringBuilder();
+    private int position;
+    private boolean firstField = true;
+
+    /**
+     * @brief This method builds a CSV writer
+     * @param out writer the buffer is handed to, it is flushed but never closed
+     * @param bufferSize number of chars buffered, at least 64
+     */
+    CsvWriter(final Writer out, final int bufferSize) {
+        requireNonNull(out, "out");
+        this.out = out;
+        this.buffer = new char[Math.max(bufferSize, MAX_NUMBER_LENGTH * 2 + 2)];
+    }
+
+    /**
+     * @brief This method writes a text field, an empty one when the value is null
+     * @param value text of the field
+     * @throws IOException if the underlying writer fails
+     */
+    @Override
+    public void field(final CharSequence value) throws IOException {
+        startField();
+        if (null == value) {
+            return;
+        }
+        int length = value.length();
+        boolean quoted = needsQuotes(value, length);
+        if (quoted) {
+            put(QUOTE);
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                put(QUOTE);
+            }
+            put(c);
+        }
+        if (quoted) {
+            put(QUOTE);
+        }
+    }
+
+    /**
+     * @brief This method writes an identifier field, as a number
+     * @param value identifier of the field
+     * @throws IOException if the underlying writer fails
+     */
+    @Override
+    public void id(final long value) throws IOException {
+        field(value);
+    }
+
+    /**
+     * @brief This method writes a number field
+     * @param value number of the field
+     * @throws IOException if the underlying writer fails
+     */
+    @Override
+    public void field(final long value) throws IOException {
+        startField();
+        if (buffer.length - position < MAX_NUMBER_LENGTH) {
+            flushBuffer();
+        }
+        long magnitude = value;
+        if (value < 0) {
+            buffer[position++] = '-';
+            if (value == Long.MIN_VALUE) {
+                // its magnitude does not fit in a long
+                String digits = Long.toString(value);
+                digits.getChars(1, digits.length(), buffer, position);
+                position += digits.length() - 1;
+                return;
+            }
+            magnitude = -value;
+        }
+        int digits = 1;
+        for (long rest = magnitude / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        position = DigitHelper.writeZeroPadded(magnitude, digits, buffer, position);
+    }
+
+    /**
+     * @brief This method writes an empty field
+     * @throws IOException if the underlying writer fails
+     */
+    @Override
+    public void emptyField() throws IOException {
+        startField();
+    }
+
+    /**
+     * @brief This method ends the current record
+     * @throws IOException if the underlying writer fails
+     */
+    void endRecord() throws IOException {
+        put(END_OF_RECORD);
+        firstField = true;
+    }
+
+    /**
+     * @brief This method returns an empty builder which can be reused to assemble a field out of several parts
+     * @return the cleared builder, only valid until the next call
+     */
+    @Override
+    public StringBuilder scratch() {
+        scratch.setLength(0);
+        return scratch;
+    }
+
+    /**
+     * @brief This method hands the buffer to the underlying writer and flushes it
+     * @throws IOException if the underlying writer fails
+     */
+    void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void startField() throws IOException {
+        if (firstField) {
+            firstField = false;
+        } else {
+            put(SEPARATOR);
+        }
+    }
+
+    private void put(final char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private static boolean needsQuotes(final CharSequence value, final int length) {
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.Encoder;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+
+import java.io.IOException;
+
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeAddress;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeBankDetails;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeEmergencyContacts;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeEnum;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeLong;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeManagers;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writePhoneNumbers;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeString;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeWorkLocation;
+
+/**
+ * @class Employee Datum Writer
+ * @brief This class writes an Employee in the order of {@code avro/Employee.avsc} without reflection
+ */
+final class EmployeeDatumWriter implements DatumWriter<Employee> {
+
+    /**
+     * @brief This method is called with the schema of the file, which is always the Employee schema
+     * @param schema schema of the file
+     */
+    @Override
+    public void setSchema(final Schema schema) {
+        // the field order is fixed by the code below
+    }
+
+    /**
+     * @brief This method writes an employee
+     * @param employee employee to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    @Override
+    public void write(final Employee employee, final Encoder out) throws IOException {
+        writeString(employee.getUid(), out);
+        writeLong(employee.getId(), out);
+        writeString(employee.getName(), out);
+        writeString(employee.getDateOfBirth(), out);
+        writePhoneNumbers(employee.getContactNumbers(), out);
+        writeEmergencyContacts(employee.getEmergencyContacts(), out);
+        writeAddress(employee.getAddress(), out);
+        writeBankDetails(employee.getBankDetails(), out);
+        writeString(employee.getTaxCode(), out);
+        writeEnum(employee.getNationality(), out);
+        writeManagers(employee.getManager(), out);
+        writeString(employee.getHireDate(), out);
+        writeEnum(employee.getGrade(), out);
+        writeEnum(employee.getDepartment(), out);
+        out.writeInt(employee.getSalaryAmount());
+        out.writeInt(employee.getSalaryBonus());
+        writeWorkLocation(employee.getWorkLocation(), out);
+        writeEnum(employee.getSex(), out);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import java.io.IOException;
+
+/**
+ * @brief Destination of the fields of a flattened record, one row at a time
+ * @details Implemented by the CSV and XLS writers, see {@link RecordLayout}
+ */
+interface FieldWriter {
+
+    /**
+     * @brief This method writes a text field, an empty one when the value is null
+     * @param value text of the field
+     * @throws IOException if the output fails
+     */
+    void field(CharSequence value) throws IOException;
+
+    /**
+     * @brief This method writes a number field
+     * @param value number of the field
+     * @throws IOException if the output fails
+     */
+    void field(long value) throws IOException;
+
+    /**
+     * @brief This method writes an identifier field
+     * @details Identifiers use all 64 bits, so writers which can't hold every long as a number write its digits
+     * @param value identifier of the field
+     * @throws IOException if the output fails
+     */
+    void id(long value) throws IOException;
+
+    /**
+     * @brief This method writes an empty field
+     * @throws IOException if the output fails
+     */
+    void emptyField() throws IOException;
+
+    /**
+     * @brief This method returns an empty builder which can be reused to assemble a field out of several parts
+     * @return the cleared builder, only valid until the next call
+     */
+    StringBuilder scratch();
+}
@@ -1,10 +1,13 @@
 package uk.gov.gchq.syntheticdatagenerator.serialise;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import org.codehaus.jackson.JsonEncoding;
-import org.codehaus.jackson.JsonFactory;
-import org.codehaus.jackson.JsonGenerator;
-import org.codehaus.jackson.map.ObjectMapper;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,7 +15,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
@@ -27,13 +35,55 @@ public class JSONSerialiser<O> implements Serialiser<O>{
 
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(JSONSerialiser.class);
+    // Un unico ObjectMapper compartido: sus serializadores se crean una vez por clase y no en cada llamada
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private final Class<O> domainClass;
+    private final JsonStyle style;
 
     /**
      * @brief Constructor de la clase, almacena el dominio de la clase
      * @param domainClass Dominio de la clase
      */
     public JSONSerialiser(@JsonProperty("domainClass") final Class<O> domainClass) {
+        this(domainClass, JsonStyle.COMPACT);
+    }
+
+    /**
+     * @brief Constructor de la clase, almacena el dominio de la clase y el formato de salida
+     * @param domainClass Dominio de la clase
+     * @param style Formato del fichero: compacto, indentado o un objeto por linea (NDJSON)
+     */
+    public JSONSerialiser(final Class<O> domainClass, final JsonStyle style) {
         requireNonNull(domainClass, "domainClass is required");
+        requireNonNull(style, "style is required");
+        this.domainClass = domainClass;
+        this.style = style;
+        // se prepara el writer antes del primer registro
+        writerFor(domainClass);
+    }
+
+    /**
+     * @brief Metodo que devuelve el ObjectWriter compartido de una clase
+     * @details El writer se crea la primera vez con el serializador de la clase ya resuelto y se reutiliza en todas las llamadas
+     * @param domainClass Dominio de la clase
+     * @return ObjectWriter de la clase, seguro para usar desde varios hilos
+     */
+    private static ObjectWriter writerFor(final Class<?> domainClass) {
+        return WRITERS.computeIfAbsent(domainClass, MAPPER::writerFor);
+    }
+
+    /**
+     * @brief Metodo que devuelve el ObjectReader compartido de una clase
+     * @param domainClass Dominio de la clase
+     * @return ObjectReader de la clase, seguro para usar desde varios hilos
+     */
+    private static ObjectReader readerFor(final Class<?> domainClass) {
+        return READERS.computeIfAbsent(domainClass, MAPPER::readerFor);
     }
 
     /**
@@ -43,32 +93,41 @@ public class JSONSerialiser<O> implements Serialiser<O>{
      * @throws IOException Fallo en la serializacion
      */
     @Override
-    public void serialise(final Stream<O> objects, OutputStream output) throws IOException {
+    public void serialise(final Stream<O> objects, final OutputStream output) throws IOException {
         requireNonNull(output, "output");
         if (nonNull(objects)) {
-            //create a data file writer around the output stream
             //since we didn't create the output stream, we shouldn't close it either, someone else might want it afterwards!
-            ObjectMapper mapper = new ObjectMapper();
-            JsonFactory jfactory = new JsonFactory();
-	    
-            JsonGenerator jGenerator = jfactory.createJsonGenerator(output, JsonEncoding.UTF8);
+            ObjectWriter writer = writerFor(domainClass);
+            JsonGenerator jGenerator = MAPPER.getFactory().createGenerator(output, JsonEncoding.UTF8);
+            boolean isArray = style != JsonStyle.NDJSON;
             LOGGER.debug("Creating data file writer");
             try {
-                jGenerator.useDefaultPrettyPrinter();
-                jGenerator.writeStartArray();
+                if (style == JsonStyle.PRETTY) {
+                    jGenerator.useDefaultPrettyPrinter();
+                } else if (!isArray) {
+                    // cada registro va en su propia linea, sin separador entre valores raiz
+                    jGenerator.setRootValueSeparator(null);
+                }
+                if (isArray) {
+                    jGenerator.writeStartArray();
+                }
                 //iterate and append items -- we can't use forEach on the stream as the lambda can't throw an IOException
-                Iterator<O> objectIt = (Iterator<O>) objects.iterator();
+                Iterator<O> objectIt = objects.iterator();
 
                 while (objectIt.hasNext()) {
-                    O next = objectIt.next();
-                    mapper.writeValue(jGenerator, next);
+                    writer.writeValue(jGenerator, objectIt.next());
+                    if (!isArray) {
+                        jGenerator.writeRaw('\n');
+                    }
                 }
 
             } catch (Exception ex) {
                 throw new RuntimeException(ex);
             } finally {
                 try {
-                    jGenerator.writeEndArray();
+                    if (isArray) {
+                        jGenerator.writeEndArray();
+                    }
                 } catch (IOException e) {
                     LOGGER.warn("Unable to write JSON generator", e);
                 }
@@ -77,9 +136,43 @@ public class JSONSerialiser<O> implements Serialiser<O>{
         }
     }
 
+    /**
+     * @brief Metodo que devuelve el formato en el que se escribe el fichero
+     * @return Formato del fichero
+     */
+    public JsonStyle getStyle() {
+        return style;
+    }
+
+    /**
+     * @brief Metodo que devuelve el dominio de la clase
+     * @return Dominio de la clase
+     */
+    public Class<O> getDomainClass() {
+        return domainClass;
+    }
+
+    /**
+     * @brief Metodo que sera usado para deserializar un fichero json
+     * @details Los objetos se leen de uno en uno segun se consume el stream, tanto de un array como de un fichero NDJSON,
+     * por lo que la memoria usada no depende del tamano del fichero. Al cerrar el stream se cierra el stream de entrada.
+     * @param input El stream de entrada con los datos en formato json
+     * @return El stream de objetos deserializados
+     * @throws IOException Fallo al empezar a leer el stream de entrada
+     */
     @Override
-    public Stream<O> deserialise(InputStream stream) throws IOException {
-        return null;
+    public Stream<O> deserialise(final InputStream input) throws IOException {
+        requireNonNull(input, "input");
+        //Don't use try-with-resources here! The parser needs to stay open until the stream it is feeding below is closed
+        MappingIterator<O> objectIt = readerFor(domainClass).readValues(input);
+        Spliterator<O> spliterator = Spliterators.spliteratorUnknownSize(objectIt, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                objectIt.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to close JSON parser", e);
+            }
+        });
     }
 
 	
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import java.util.Locale;
+
+/**
+ * @enum JSON Style
+ * @brief This enum class lists the layouts a JSON file can be written in
+ */
+public enum JsonStyle {
+    /**
+     * A single array with no whitespace between the records
+     */
+    COMPACT,
+    /**
+     * A single indented array, about 40% larger than compact
+     */
+    PRETTY,
+    /**
+     * Newline delimited JSON: one compact record per line and no enclosing array, so a file can be split on line breaks
+     */
+    NDJSON;
+
+    /**
+     * @brief This method finds a style by its name, ignoring case
+     * @param name name of the style
+     * @return the style
+     */
+    public static JsonStyle fromName(final String name) {
+        return JsonStyle.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
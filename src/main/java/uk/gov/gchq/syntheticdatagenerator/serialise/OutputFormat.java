@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * @enum Output Format
+ * @brief This enum class lists the formats the data files can be written in
+ * @details The format of a file is known from its extension. Text formats may also be gzip compressed, which adds
+ * {@code .gz} to the extension.
+ */
+public enum OutputFormat {
+    AVRO("avro", false),
+    JSON("json", true),
+    CSV("csv", true),
+    PARQUET("parquet", false),
+    XLS("xls", false);
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private final String extension;
+    private final boolean text;
+
+    OutputFormat(final String extension, final boolean text) {
+        this.extension = extension;
+        this.text = text;
+    }
+
+    /**
+     * @brief This method returns the extension of the files, without the dot
+     * @return file extension
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @brief This method checks if the files are text, which can be gzip compressed
+     * @return true for text formats
+     */
+    public boolean isText() {
+        return text;
+    }
+
+    /**
+     * @brief This method returns the name of a data file
+     * @param baseName name of the file without extension
+     * @param gzip true to compress a text file with gzip, ignored for binary formats which have their own compression
+     * @return file name with extension
+     */
+    public String fileName(final String baseName, final boolean gzip) {
+        return baseName + '.' + extension + (gzip && text ? GZIP_EXTENSION : "");
+    }
+
+    /**
+     * @brief This method checks if a data file is gzip compressed
+     * @param file data file
+     * @return true if the file name ends with .gz
+     */
+    public static boolean isGzip(final File file) {
+        return file.getName().endsWith(GZIP_EXTENSION);
+    }
+
+    /**
+     * @brief This method finds the format of a data file from its extension
+     * @param file data file
+     * @return the format, Avro for any extension that is not listed
+     */
+    public static OutputFormat fromFile(final File file) {
+        String name = file.getName();
+        if (isGzip(file)) {
+            name = name.substring(0, name.length() - GZIP_EXTENSION.length());
+        }
+        int dot = name.lastIndexOf('.');
+        for (OutputFormat format : values()) {
+            if (dot >= 0 && format.extension.equals(name.substring(dot + 1))) {
+                return format;
+            }
+        }
+        return AVRO;
+    }
+
+    /**
+     * @brief This method finds a format by its name, ignoring case
+     * @param name name of the format
+     * @return the format
+     */
+    public static OutputFormat fromName(final String name) {
+        return OutputFormat.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
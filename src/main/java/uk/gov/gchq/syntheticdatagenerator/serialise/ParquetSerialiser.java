@@ -0,0 +1,455 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.reflect.ReflectData;
+import org.apache.avro.reflect.ReflectDatumReader;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import uk.gov.gchq.syntheticdatagenerator.types.Manager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code ParquetSerialiser} writes domain objects as a Parquet file, using the Avro schema of {@link AvroSerialiser}.
+ * Parquet can't hold recursive types, so the {@link Manager} tree is unrolled to a fixed number of levels: the
+ * managers of the last level have no {@code managers} column. The random trees are at most four levels high, the
+ * default, while the chains of an organisation chart are as deep as the chart, which has to be given.
+ * Files are read back into the domain class, each unrolled level being read as a Manager again.
+ * Dictionary encoding is on by default, which keeps every enum column dictionary encoded; columns with too many
+ * distinct values fall back to plain encoding once the dictionary page is full.
+ *
+ * @param <O> the domain object type
+ */
+public class ParquetSerialiser<O> implements Serialiser<O> {
+    private static final long serialVersionUID = 1L;
+    public static final int DEFAULT_MANAGER_LEVELS = 4;
+    private static final String MANAGERS_FIELD = "managers";
+
+    private final Class<O> domainClass;
+    private final Schema schema;
+    private final CompressionCodecName codec;
+    private final int rowGroupSize;
+    private final int pageSize;
+    private final boolean dictionaryEncoding;
+
+    /**
+     * @brief This method builds a Parquet serialiser with Parquet's default sizes and snappy compression
+     * @param domainClass class domain
+     */
+    public ParquetSerialiser(final Class<O> domainClass) {
+        this(domainClass, CompressionCodecName.SNAPPY, ParquetWriter.DEFAULT_BLOCK_SIZE, ParquetWriter.DEFAULT_PAGE_SIZE, true);
+    }
+
+    /**
+     * @brief This method builds a Parquet serialiser
+     * @param domainClass class domain
+     * @param codec compression codec applied to every page
+     * @param rowGroupSize approximate number of bytes buffered in memory per row group
+     * @param pageSize approximate number of bytes per page
+     * @param dictionaryEncoding true to dictionary encode the columns
+     */
+    public ParquetSerialiser(final Class<O> domainClass, final CompressionCodecName codec, final int rowGroupSize,
+                             final int pageSize, final boolean dictionaryEncoding) {
+        this(domainClass, codec, rowGroupSize, pageSize, dictionaryEncoding, DEFAULT_MANAGER_LEVELS);
+    }
+
+    /**
+     * @brief This method builds a Parquet serialiser
+     * @param domainClass class domain
+     * @param codec compression codec applied to every page
+     * @param rowGroupSize approximate number of bytes buffered in memory per row group
+     * @param pageSize approximate number of bytes per page
+     * @param dictionaryEncoding true to dictionary encode the columns
+     * @param managerLevels number of levels of managers kept, any managers deeper down are left out
+     */
+    public ParquetSerialiser(final Class<O> domainClass, final CompressionCodecName codec, final int rowGroupSize,
+                             final int pageSize, final boolean dictionaryEncoding, final int managerLevels) {
+        requireNonNull(domainClass, "domainClass is required");
+        requireNonNull(codec, "codec is required");
+        if (managerLevels < 1) {
+            throw new IllegalArgumentException("managerLevels must be at least 1 but was " + managerLevels);
+        }
+        this.domainClass = domainClass;
+        this.schema = unrollManagers(AvroWriter.schemaOf(domainClass), managerLevels);
+        this.codec = codec;
+        this.rowGroupSize = rowGroupSize;
+        this.pageSize = pageSize;
+        this.dictionaryEncoding = dictionaryEncoding;
+    }
+
+    /**
+     * @brief This method parses a Parquet codec name, ignoring case
+     * @details For example {@code uncompressed}, {@code snappy}, {@code gzip} or {@code zstd}
+     * @param codec codec name
+     * @return the codec
+     */
+    public static CompressionCodecName parseCodec(final String codec) {
+        return CompressionCodecName.valueOf(codec.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @brief This method serialises the records as a Parquet file
+     * @param objects the stream of objects to be serialised
+     * @param output  the output stream to write the serialised bytes to, flushed but not closed
+     * @throws IOException found problems in the serialization process
+     */
+    @Override
+    public void serialise(final Stream<O> objects, final OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        if (nonNull(objects)) {
+            try (ParquetWriter<O> writer = AvroParquetWriter.<O>builder(new StreamOutputFile(output))
+                    .withSchema(schema)
+                    .withDataModel(ReflectData.AllowNull.get())
+                    .withCompressionCodec(codec)
+                    .withRowGroupSize(rowGroupSize)
+                    .withPageSize(pageSize)
+                    .withDictionaryEncoding(dictionaryEncoding)
+                    .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                    .build()) {
+                //iterate and append items -- we can't use forEach on the stream as the lambda can't throw an IOException
+                Iterator<O> objectIt = objects.iterator();
+                while (objectIt.hasNext()) {
+                    writer.write(objectIt.next());
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief This method reads the records of a Parquet file back
+     * @details Parquet files can only be read from their footer, so the stream is first copied to a temporary file,
+     * which is deleted when the returned stream is closed. The records are read generically and then resolved against
+     * the schema of the domain class, with every unrolled manager level taken as an alias of the Manager record.
+     * @param input the input stream, read to its end but not closed
+     * @return the records, which must be closed
+     * @throws IOException if the stream can't be copied or the file can't be opened
+     */
+    @Override
+    public Stream<O> deserialise(final InputStream input) throws IOException {
+        requireNonNull(input, "input");
+        final File spool = File.createTempFile("deserialise", ".parquet");
+        final ParquetReader<GenericRecord> reader;
+        try {
+            Files.copy(input, spool.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            reader = AvroParquetReader.<GenericRecord>builder(HadoopInputFile.fromPath(new Path(spool.toURI()), new Configuration()))
+                    .withDataModel(GenericData.get())
+                    .build();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool.toPath());
+            throw e;
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new RecordIterator(reader),
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                        Files.deleteIfExists(spool.toPath());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * @brief This method returns the schema the records are written with
+     * @return Avro schema with the manager tree unrolled
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @brief This method returns the domain class
+     * @return the domain class
+     */
+    public Class<O> getDomainClass() {
+        return domainClass;
+    }
+
+    /**
+     * @brief This method returns the schema of the domain class with the unrolled manager levels of a written schema
+     * as aliases of the Manager record
+     * @param written schema a file was written with
+     * @return schema to read the records of the file into the domain class
+     */
+    Schema readSchema(final Schema written) {
+        Schema read = new Schema.Parser().parse(AvroWriter.schemaOf(domainClass).toString());
+        Schema manager = findRecord(read, Manager.class.getName(), new HashSet<>());
+        if (null != manager) {
+            for (String level : managerLevels(written, new HashSet<>())) {
+                if (!level.equals(manager.getFullName())) {
+                    manager.addAlias(level);
+                }
+            }
+        }
+        return read;
+    }
+
+    private static Schema findRecord(final Schema schema, final String name, final Set<String> seen) {
+        switch (schema.getType()) {
+            case UNION:
+                for (Schema type : schema.getTypes()) {
+                    Schema found = findRecord(type, name, seen);
+                    if (null != found) {
+                        return found;
+                    }
+                }
+                return null;
+            case ARRAY:
+                return findRecord(schema.getElementType(), name, seen);
+            case RECORD:
+                if (name.equals(schema.getFullName())) {
+                    return schema;
+                }
+                if (seen.add(schema.getFullName())) {
+                    for (Schema.Field field : schema.getFields()) {
+                        Schema found = findRecord(field.schema(), name, seen);
+                        if (null != found) {
+                            return found;
+                        }
+                    }
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static Set<String> managerLevels(final Schema schema, final Set<String> names) {
+        switch (schema.getType()) {
+            case UNION:
+                schema.getTypes().forEach(type -> managerLevels(type, names));
+                break;
+            case ARRAY:
+                managerLevels(schema.getElementType(), names);
+                break;
+            case RECORD:
+                if (!names.contains(schema.getFullName())) {
+                    if (schema.getFullName().startsWith(Manager.class.getName())) {
+                        names.add(schema.getFullName());
+                    }
+                    schema.getFields().forEach(field -> managerLevels(field.schema(), names));
+                }
+                break;
+            default:
+                break;
+        }
+        return names;
+    }
+
+    /**
+     * @brief This method replaces the recursive Manager record of a schema by a fixed number of levels
+     * @param schema schema which may hold the Manager record
+     * @param levels number of manager levels kept
+     * @return schema without recursion
+     */
+    static Schema unrollManagers(final Schema schema, final int levels) {
+        return unroll(schema, levels, 0);
+    }
+
+    private static Schema unroll(final Schema schema, final int levels, final int level) {
+        switch (schema.getType()) {
+            case UNION:
+                List<Schema> types = new ArrayList<>();
+                for (Schema type : schema.getTypes()) {
+                    types.add(unroll(type, levels, level));
+                }
+                return Schema.createUnion(types);
+            case ARRAY:
+                Schema array = Schema.createArray(unroll(schema.getElementType(), levels, level));
+                schema.getObjectProps().forEach(array::addProp);
+                return array;
+            case RECORD:
+                boolean isManager = Manager.class.getName().equals(schema.getFullName());
+                int depth = isManager ? level + 1 : level;
+                List<Schema.Field> fields = new ArrayList<>();
+                for (Schema.Field field : schema.getFields()) {
+                    if (isManager && depth == levels && MANAGERS_FIELD.equals(field.name())) {
+                        continue;
+                    }
+                    fields.add(new Schema.Field(field.name(), unroll(field.schema(), levels, depth), field.doc(), field.defaultVal()));
+                }
+                // every level needs its own name, as a named type can only be defined once
+                String name = isManager && depth > 1 ? schema.getName() + depth : schema.getName();
+                Schema record = Schema.createRecord(name, schema.getDoc(), schema.getNamespace(), schema.isError(), fields);
+                schema.getObjectProps().forEach(record::addProp);
+                return record;
+            default:
+                return schema;
+        }
+    }
+
+    /**
+     * @class Record Iterator
+     * @brief This class reads the generic records of a Parquet file and resolves each into the domain class
+     */
+    private final class RecordIterator implements Iterator<O> {
+        private final ParquetReader<GenericRecord> reader;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private GenericRecord next;
+        private boolean done;
+        private Schema written;
+        private DatumWriter<GenericRecord> datumWriter;
+        private DatumReader<O> datumReader;
+        private BinaryEncoder encoder;
+        private BinaryDecoder decoder;
+
+        RecordIterator(final ParquetReader<GenericRecord> reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == next && !done) {
+                try {
+                    next = reader.read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = null == next;
+            }
+            return null != next;
+        }
+
+        @Override
+        public O next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            GenericRecord record = next;
+            next = null;
+            if (!record.getSchema().equals(written)) {
+                written = record.getSchema();
+                datumWriter = new GenericDatumWriter<>(written);
+                datumReader = new ReflectDatumReader<>(written, readSchema(written));
+            }
+            try {
+                buffer.reset();
+                encoder = EncoderFactory.get().binaryEncoder(buffer, encoder);
+                datumWriter.write(record, encoder);
+                encoder.flush();
+                decoder = DecoderFactory.get().binaryDecoder(buffer.toByteArray(), decoder);
+                return datumReader.read(null, decoder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @class Stream Output File
+     * @brief This class lets Parquet write to an output stream it must not close
+     */
+    private static final class StreamOutputFile implements OutputFile {
+        private final OutputStream output;
+
+        StreamOutputFile(final OutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public PositionOutputStream create(final long blockSizeHint) {
+            return new PositionOutputStream() {
+                private long position;
+
+                @Override
+                public long getPos() {
+                    return position;
+                }
+
+                @Override
+                public void write(final int b) throws IOException {
+                    output.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                    output.write(b, off, len);
+                    position += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    output.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    // since we didn't create the output stream, we shouldn't close it either
+                    output.flush();
+                }
+            };
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(final long blockSizeHint) {
+            return create(blockSizeHint);
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import uk.gov.gchq.syntheticdatagenerator.types.Address;
+import uk.gov.gchq.syntheticdatagenerator.types.BankDetails;
+import uk.gov.gchq.syntheticdatagenerator.types.EmergencyContact;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Manager;
+import uk.gov.gchq.syntheticdatagenerator.types.PhoneNumber;
+import uk.gov.gchq.syntheticdatagenerator.types.Teacher;
+import uk.gov.gchq.syntheticdatagenerator.types.WorkLocation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * @class Record Layout
+ * @brief This class lists the columns a record is flattened into, for the CSV and XLS serialisers
+ * @details Nested records are flattened by adding their columns with a prefix, e.g. {@code address} and
+ * {@code city} give {@code addressCity}. When a nested record is null all of its columns are left empty.
+ *
+ * @param <O> the record type
+ */
+final class RecordLayout<O> {
+    private static final int MANAGERS = 3;
+    private static final char CHAIN_SEPARATOR = '/';
+
+    private final List<String> headers = new ArrayList<>();
+    private final List<Column<O>> columns = new ArrayList<>();
+
+    /**
+     * @brief This method adds a text column
+     * @param header name of the column
+     * @param getter function returning the text of a record
+     * @return this layout
+     */
+    RecordLayout<O> text(final String header, final Function<O, ? extends CharSequence> getter) {
+        return column(header, (record, out) -> out.field(getter.apply(record)));
+    }
+
+    /**
+     * @brief This method adds a number column
+     * @param header name of the column
+     * @param getter function returning the number of a record
+     * @return this layout
+     */
+    RecordLayout<O> number(final String header, final ToLongFunction<O> getter) {
+        return column(header, (record, out) -> out.field(getter.applyAsLong(record)));
+    }
+
+    /**
+     * @brief This method adds a column holding an identifier which may be missing
+     * @param header name of the column
+     * @param getter function returning the identifier of a record, or null to leave the field empty
+     * @return this layout
+     */
+    RecordLayout<O> optionalId(final String header, final Function<O, Long> getter) {
+        return column(header, (record, out) -> {
+            Long value = getter.apply(record);
+            if (null == value) {
+                out.emptyField();
+            } else {
+                out.id(value);
+            }
+        });
+    }
+
+    /**
+     * @brief This method adds an enum column holding the name of the constant
+     * @param header name of the column
+     * @param getter function returning the constant of a record
+     * @return this layout
+     */
+    RecordLayout<O> symbol(final String header, final Function<O, ? extends Enum<?>> getter) {
+        return column(header, (record, out) -> {
+            Enum<?> value = getter.apply(record);
+            out.field(null == value ? null : value.name());
+        });
+    }
+
+    /**
+     * @brief This method adds the columns of a nested record
+     * @param prefix prefix of the nested column names
+     * @param getter function returning the nested record, may return null
+     * @param nested layout of the nested record
+     * @param <N> the nested record type
+     * @return this layout
+     */
+    <N> RecordLayout<O> nested(final String prefix, final Function<O, N> getter, final RecordLayout<N> nested) {
+        for (String header : nested.headers) {
+            headers.add(prefix + Character.toUpperCase(header.charAt(0)) + header.substring(1));
+        }
+        final int width = nested.headers.size();
+        columns.add((record, out) -> {
+            N value = getter.apply(record);
+            if (null == value) {
+                for (int i = 0; i < width; i++) {
+                    out.emptyField();
+                }
+            } else {
+                nested.write(value, out);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * @brief This method adds a column written by custom code
+     * @param header name of the column
+     * @param column code writing exactly one field
+     * @return this layout
+     */
+    RecordLayout<O> column(final String header, final Column<O> column) {
+        headers.add(header);
+        columns.add(column);
+        return this;
+    }
+
+    /**
+     * @brief This method returns the column names
+     * @return column names in order
+     */
+    List<String> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    /**
+     * @brief This method writes the column names as fields, without ending the row
+     * @param out field writer
+     * @throws IOException if the writer fails
+     */
+    void writeHeader(final FieldWriter out) throws IOException {
+        for (String header : headers) {
+            out.field(header);
+        }
+    }
+
+    /**
+     * @brief This method writes the fields of a record, without ending the row
+     * @param record record to write
+     * @param out field writer
+     * @throws IOException if the writer fails
+     */
+    void write(final O record, final FieldWriter out) throws IOException {
+        for (Column<O> column : columns) {
+            column.write(record, out);
+        }
+    }
+
+    /**
+     * @brief Code writing the fields of one or more columns
+     * @param <O> the record type
+     */
+    @FunctionalInterface
+    interface Column<O> {
+        void write(O record, FieldWriter out) throws IOException;
+    }
+
+    /**
+     * @brief This method returns an element of an array
+     * @param values array, may be null
+     * @param index index of the element
+     * @param <T> the element type
+     * @return the element, or null when the array is null or too short
+     */
+    static <T> T element(final T[] values, final int index) {
+        return null == values || index >= values.length ? null : values[index];
+    }
+
+    /**
+     * @brief This method returns the flattened layout of Employees or Teachers
+     * @details The address, bank details and work location are flattened in full, followed by the first phone numbers,
+     * the first emergency contact and, for each of the three managers, its type, uid and the uids of the managers of
+     * the same type above it separated by {@code /}
+     * @param domainClass class domain, Employee or Teacher
+     * @param phoneNumbers number of phone numbers of a record given columns, any others are left out
+     * @param <O> the record type
+     * @return the layout
+     */
+    @SuppressWarnings("unchecked")
+    static <O> RecordLayout<O> of(final Class<O> domainClass, final int phoneNumbers) {
+        if (Employee.class.equals(domainClass)) {
+            return (RecordLayout<O>) employeeLayout(phoneNumbers);
+        } else if (Teacher.class.equals(domainClass)) {
+            return (RecordLayout<O>) teacherLayout(phoneNumbers);
+        }
+        throw new IllegalArgumentException("There is no flat layout for " + domainClass.getName());
+    }
+
+    private static RecordLayout<Employee> employeeLayout(final int phoneNumbers) {
+        RecordLayout<Employee> layout = new RecordLayout<Employee>()
+                .text("uid", Employee::getUid)
+                .optionalId("id", Employee::getId)
+                .text("name", Employee::getName)
+                .text("dateOfBirth", Employee::getDateOfBirth);
+        addPhoneNumbers(layout, Employee::getContactNumbers, phoneNumbers);
+        layout.nested("emergencyContact", employee -> element(employee.getEmergencyContacts(), 0), emergencyContactLayout())
+                .nested("address", Employee::getAddress, addressLayout())
+                .nested("bank", Employee::getBankDetails, bankDetailsLayout())
+                .text("taxCode", Employee::getTaxCode)
+                .symbol("nationality", Employee::getNationality);
+        addManagers(layout, Employee::getManager);
+        return layout.text("hireDate", Employee::getHireDate)
+                .symbol("grade", Employee::getGrade)
+                .symbol("department", Employee::getDepartment)
+                .number("salaryAmount", Employee::getSalaryAmount)
+                .number("salaryBonus", Employee::getSalaryBonus)
+                .nested("workLocation", Employee::getWorkLocation, workLocationLayout())
+                .symbol("sex", Employee::getSex);
+    }
+
+    private static RecordLayout<Teacher> teacherLayout(final int phoneNumbers) {
+        RecordLayout<Teacher> layout = new RecordLayout<Teacher>()
+                .text("uid", Teacher::getUid)
+                .optionalId("id", Teacher::getId)
+                .text("name", Teacher::getName)
+                .text("dateOfBirth", Teacher::getDateOfBirth);
+        addPhoneNumbers(layout, Teacher::getContactNumbers, phoneNumbers);
+        layout.nested("emergencyContact", teacher -> element(teacher.getEmergencyContacts(), 0), emergencyContactLayout())
+                .nested("address", Teacher::getAddress, addressLayout())
+                .symbol("nationality", Teacher::getNationality)
+                .symbol("subject", Teacher::getSubject)
+                .symbol("department", Teacher::getDepartment);
+        addManagers(layout, Teacher::getManager);
+        return layout.text("hireDate", Teacher::getHireDate)
+                .number("salaryAmount", Teacher::getSalaryAmount)
+                .number("salaryBonus", Teacher::getSalaryBonus)
+                .nested("workLocation", Teacher::getWorkLocation, workLocationLayout())
+                .symbol("sex", Teacher::getSex);
+    }
+
+    private static <O> void addPhoneNumbers(final RecordLayout<O> layout, final Function<O, PhoneNumber[]> getter, final int count) {
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            layout.nested("phone" + (i + 1), record -> element(getter.apply(record), index), phoneNumberLayout());
+        }
+    }
+
+    private static <O> void addManagers(final RecordLayout<O> layout, final Function<O, Manager[]> getter) {
+        for (int i = 0; i < MANAGERS; i++) {
+            final int index = i;
+            layout.nested("manager" + (i + 1), record -> element(getter.apply(record), index), managerLayout(index));
+        }
+    }
+
+    private static RecordLayout<PhoneNumber> phoneNumberLayout() {
+        return new RecordLayout<PhoneNumber>()
+                .text("type", PhoneNumber::getType)
+                .text("number", PhoneNumber::getPhoneNumber);
+    }
+
+    private static RecordLayout<EmergencyContact> emergencyContactLayout() {
+        return new RecordLayout<EmergencyContact>()
+                .text("name", EmergencyContact::getContactName)
+                .symbol("relation", EmergencyContact::getRelation)
+                .nested("phone", contact -> element(contact.getContactNumbers(), 0), phoneNumberLayout());
+    }
+
+    private static RecordLayout<Address> addressLayout() {
+        return new RecordLayout<Address>()
+                .text("streetAddressNumber", Address::getStreetAddressNumber)
+                .text("streetName", Address::getStreetName)
+                .text("city", Address::getCity)
+                .text("state", Address::getState)
+                .text("zipCode", Address::getZipCode);
+    }
+
+    private static RecordLayout<BankDetails> bankDetailsLayout() {
+        return new RecordLayout<BankDetails>()
+                .text("sortCode", BankDetails::getSortCode)
+                .text("accountNumber", BankDetails::getAccountNumber);
+    }
+
+    private static RecordLayout<WorkLocation> workLocationLayout() {
+        return new RecordLayout<WorkLocation>()
+                .symbol("name", WorkLocation::getWorkLocationName)
+                .nested("address", WorkLocation::getAddress, addressLayout());
+    }
+
+    /**
+     * @brief This method builds the layout of the manager at a position of the list
+     * @details The chain follows the manager of the same type up the tree, e.g. the career manager of the career manager
+     * @param index position of the manager in the list
+     * @return layout of the manager
+     */
+    private static RecordLayout<Manager> managerLayout(final int index) {
+        return new RecordLayout<Manager>()
+                .text("type", Manager::getManagerType)
+                .text("uid", Manager::getUid)
+                .column("chain", (manager, out) -> {
+                    StringBuilder chain = out.scratch();
+                    Manager current = manager;
+                    while (current.hasManagers()) {
+                        current = sameType(current.getManager(), current.getManagerType(), index);
+                        if (null == current) {
+                            break;
+                        }
+                        if (chain.length() > 0) {
+                            chain.append(CHAIN_SEPARATOR);
+                        }
+                        chain.append(current.getUid());
+                    }
+                    out.field(chain);
+                });
+    }
+
+    /**
+     * @brief This method finds the manager of a type in a list
+     * @details Random trees list the types in the same order at every level, an organisation chart only keeps one
+     * @param managers list of managers, may be null
+     * @param type manager type looked for
+     * @param index position of the type in a full list
+     * @return the manager, or null if there is none of that type
+     */
+    private static Manager sameType(final Manager[] managers, final String type, final int index) {
+        Manager manager = element(managers, index);
+        if (null != manager && type.equals(manager.getManagerType())) {
+            return manager;
+        }
+        if (null != managers) {
+            for (Manager candidate : managers) {
+                if (type.equals(candidate.getManagerType())) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+}
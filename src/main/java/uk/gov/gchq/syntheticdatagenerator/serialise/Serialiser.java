@@ -47,12 +47,19 @@ public interface Serialiser<I> extends Serializable {
 
     /**
      * Deserialise an {@link InputStream} into a {@link Stream} of objects.
+     * <p>
+     * Only formats which hold the whole record can be read back. Formats which flatten the records into columns and
+     * leave parts of them out, such as CSV and XLS, are write only and keep this default, which throws
+     * {@link UnsupportedOperationException}.
      *
      * @param stream the input stream to deserialise
      * @return the deserialised object
      * @throws IOException if the input stream couldn't be read from.
+     * @throws UnsupportedOperationException if the format can't be read back
      */
-    Stream<I> deserialise(final InputStream stream) throws IOException;
+    default Stream<I> deserialise(final InputStream stream) throws IOException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " output can't be read back");
+    }
 
     @JsonGetter("class")
     default String getClassName() {
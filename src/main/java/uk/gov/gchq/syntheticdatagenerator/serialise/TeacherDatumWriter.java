@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.Encoder;
+import uk.gov.gchq.syntheticdatagenerator.types.Teacher;
+
+import java.io.IOException;
+
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeAddress;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeEmergencyContacts;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeEnum;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeLong;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeManagers;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writePhoneNumbers;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeString;
+import static uk.gov.gchq.syntheticdatagenerator.serialise.AvroRecordEncoder.writeWorkLocation;
+
+/**
+ * @class Teacher Datum Writer
+ * @brief This class writes a Teacher in the order of {@code avro/Teacher.avsc} without reflection
+ */
+final class TeacherDatumWriter implements DatumWriter<Teacher> {
+
+    /**
+     * @brief This method is called with the schema of the file, which is always the Teacher schema
+     * @param schema schema of the file
+     */
+    @Override
+    public void setSchema(final Schema schema) {
+        // the field order is fixed by the code below
+    }
+
+    /**
+     * @brief This method writes a teacher
+     * @param teacher teacher to write
+     * @param out encoder
+     * @throws IOException if the encoder fails
+     */
+    @Override
+    public void write(final Teacher teacher, final Encoder out) throws IOException {
+        writeString(teacher.getUid(), out);
+        writeLong(teacher.getId(), out);
+        writeString(teacher.getName(), out);
+        writeString(teacher.getDateOfBirth(), out);
+        writePhoneNumbers(teacher.getContactNumbers(), out);
+        writeEmergencyContacts(teacher.getEmergencyContacts(), out);
+        writeAddress(teacher.getAddress(), out);
+        writeEnum(teacher.getNationality(), out);
+        writeEnum(teacher.getSubject(), out);
+        writeEnum(teacher.getDepartment(), out);
+        writeManagers(teacher.getManager(), out);
+        writeString(teacher.getHireDate(), out);
+        out.writeInt(teacher.getSalaryAmount());
+        out.writeInt(teacher.getSalaryBonus());
+        writeWorkLocation(teacher.getWorkLocation(), out);
+        writeEnum(teacher.getSex(), out);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@code XlsSerialiser} writes Employees or Teachers as an Excel 97 (XLS) workbook, with the same flattened
+ * columns as {@link CsvSerialiser}. Every sheet starts with a header row and a new sheet is started when one is
+ * full, by default at the 65,536 row limit of the format.
+ * Records are taken from the stream one at a time and their cells are appended to a temporary file by
+ * {@link XlsWriter}, so the memory used doesn't grow with the number of records. As parts of every record are left
+ * out the rows can't be read back, so the serialiser is write only.
+ *
+ * @param <O> the domain object type
+ */
+public class XlsSerialiser<O> implements Serialiser<O> {
+    private static final long serialVersionUID = 1L;
+    public static final int MAX_ROWS_PER_SHEET = 65_536;
+    private static final String SHEET_NAME = "Sheet";
+
+    private final Class<O> domainClass;
+    private final int rowsPerSheet;
+    private final RecordLayout<O> layout;
+
+    /**
+     * @brief This method builds an XLS serialiser filling every sheet up to the row limit of the format
+     * @param domainClass class domain, Employee or Teacher
+     */
+    public XlsSerialiser(final Class<O> domainClass) {
+        this(domainClass, CsvSerialiser.DEFAULT_PHONE_NUMBERS, MAX_ROWS_PER_SHEET);
+    }
+
+    /**
+     * @brief This method builds an XLS serialiser
+     * @param domainClass class domain, Employee or Teacher
+     * @param phoneNumbers number of phone numbers of a record given columns, any others are left out
+     * @param rowsPerSheet number of rows of a sheet, header included, at least 2 and at most 65,536
+     */
+    public XlsSerialiser(final Class<O> domainClass, final int phoneNumbers, final int rowsPerSheet) {
+        requireNonNull(domainClass, "domainClass is required");
+        if (rowsPerSheet < 2 || rowsPerSheet > MAX_ROWS_PER_SHEET) {
+            throw new IllegalArgumentException("rowsPerSheet must be between 2 and " + MAX_ROWS_PER_SHEET + " but was " + rowsPerSheet);
+        }
+        this.domainClass = domainClass;
+        this.rowsPerSheet = rowsPerSheet;
+        this.layout = RecordLayout.of(domainClass, phoneNumbers);
+    }
+
+    /**
+     * @brief This method serialises the records as an XLS workbook
+     * @param objects the stream of objects to be serialised
+     * @param output  the output stream to write the serialised bytes to, it is not closed
+     * @throws IOException found problems in the serialization process
+     */
+    @Override
+    public void serialise(final Stream<O> objects, final OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        if (nonNull(objects)) {
+            try (XlsWriter workbook = new XlsWriter()) {
+                SheetWriter sheets = new SheetWriter(workbook);
+                //iterate and append items -- we can't use forEach on the stream as the lambda can't throw an IOException
+                Iterator<O> objectIt = objects.iterator();
+                while (objectIt.hasNext()) {
+                    sheets.startRow();
+                    layout.write(objectIt.next(), sheets);
+                }
+                if (0 == workbook.getNumberOfSheets()) {
+                    sheets.startSheet();
+                }
+                workbook.writeTo(output);
+            }
+        }
+    }
+
+    /**
+     * @brief This method returns the column names
+     * @return column names in order
+     */
+    public List<String> getHeaders() {
+        return layout.getHeaders();
+    }
+
+    /**
+     * @brief This method returns the number of rows of a sheet, header included
+     * @return rows per sheet
+     */
+    public int getRowsPerSheet() {
+        return rowsPerSheet;
+    }
+
+    /**
+     * @brief This method returns the domain class
+     * @return the domain class
+     */
+    public Class<O> getDomainClass() {
+        return domainClass;
+    }
+
+    /**
+     * @class Sheet Writer
+     * @brief This class adds the fields of the records as cells, starting a new sheet when the current one is full
+     */
+    private final class SheetWriter implements FieldWriter {
+        private final XlsWriter workbook;
+        private final StringBuilder scratch = new StringBuilder();
+        private boolean started;
+        private int row;
+        private int column;
+
+        SheetWriter(final XlsWriter workbook) {
+            this.workbook = workbook;
+        }
+
+        /**
+         * @brief This method moves to the next row, on a new sheet if needed
+         * @throws IOException if the header of a new sheet can't be written
+         */
+        void startRow() throws IOException {
+            if (!started || row + 1 == rowsPerSheet) {
+                startSheet();
+            }
+            row++;
+            column = 0;
+        }
+
+        /**
+         * @brief This method starts a new sheet and writes its header row
+         * @throws IOException if the header can't be written
+         */
+        void startSheet() throws IOException {
+            workbook.startSheet(SHEET_NAME + (workbook.getNumberOfSheets() + 1));
+            started = true;
+            row = 0;
+            column = 0;
+            layout.writeHeader(this);
+        }
+
+        @Override
+        public void field(final CharSequence value) throws IOException {
+            if (null == value || 0 == value.length()) {
+                column++;
+            } else {
+                workbook.label(row, column++, value);
+            }
+        }
+
+        @Override
+        public void field(final long value) throws IOException {
+            workbook.number(row, column++, value);
+        }
+
+        @Override
+        public void id(final long value) throws IOException {
+            // number cells hold a double, which can't tell apart identifiers above 2^53
+            workbook.label(row, column++, Long.toString(value));
+        }
+
+        @Override
+        public void emptyField() {
+            column++;
+        }
+
+        @Override
+        public StringBuilder scratch() {
+            scratch.setLength(0);
+            return scratch;
+        }
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.serialise;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @class XLS Writer
+ * @brief This class writes an Excel 97 (BIFF8) workbook one cell at a time, holding no more than one record in memory
+ * @details The cells of every sheet are appended to a temporary file as they come. When the workbook is written, the
+ * workbook globals, which point at the sheets by their offset, are built from the sizes of the sheets alone, and the
+ * whole Workbook stream is copied into a compound document along with its allocation tables. Text cells are written
+ * as inline {@code LABEL} records rather than through a shared string table, so no string is kept once its cell has
+ * been written. Only the records a reader needs are written: one font, the default cell formats, and for each sheet
+ * its dimensions, window and cells.
+ */
+final class XlsWriter implements Closeable {
+    private static final int MAX_COLUMNS = 256;
+    private static final int MAX_ROWS = 65_536;
+    // longest body of a record
+    private static final int MAX_RECORD = 8_224;
+    private static final int LABEL_HEADER = 9;
+
+    private static final int BOF = 0x0809;
+    private static final int EOF = 0x000A;
+    private static final int CODEPAGE = 0x0042;
+    private static final int WINDOW1 = 0x003D;
+    private static final int FONT = 0x0031;
+    private static final int XF = 0x00E0;
+    private static final int STYLE = 0x0293;
+    private static final int BOUNDSHEET = 0x0085;
+    private static final int DIMENSIONS = 0x0200;
+    private static final int WINDOW2 = 0x023E;
+    private static final int LABEL = 0x0204;
+    private static final int NUMBER = 0x0203;
+    private static final int BIFF8 = 0x0600;
+    private static final int GLOBALS = 0x0005;
+    private static final int WORKSHEET = 0x0010;
+    private static final int UTF_16 = 1200;
+    private static final String FONT_NAME = "Arial";
+    // a reader expects 4 fonts and the 15 style formats before the first cell format
+    private static final int FONTS = 4;
+    private static final int STYLE_FORMATS = 15;
+    private static final int CELL_FORMAT = STYLE_FORMATS;
+    // bytes of the records every sheet starts and ends with: BOF, DIMENSIONS and WINDOW2, then EOF
+    private static final int SHEET_OVERHEAD = (4 + 16) + (4 + 14) + (4 + 18) + 4;
+
+    private static final int SECTOR = 512;
+    private static final int ENTRIES_PER_SECTOR = SECTOR / 4;
+    private static final int HEADER_FAT_ENTRIES = 109;
+    // streams shorter than this would have to go in the mini stream, so the Workbook stream is padded up to it
+    private static final int MIN_STREAM_SIZE = 4_096;
+    private static final int DIRECTORY_ENTRY = 128;
+    private static final int FREE_SECTOR = 0xFFFFFFFF;
+    private static final int END_OF_CHAIN = 0xFFFFFFFE;
+    private static final int FAT_SECTOR = 0xFFFFFFFD;
+    private static final int DIFAT_SECTOR = 0xFFFFFFFC;
+    private static final int NO_STREAM = 0xFFFFFFFF;
+    private static final byte[] SIGNATURE = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    private final File spool;
+    private final LittleEndianOutput cells;
+    private final List<Sheet> sheets = new ArrayList<>();
+    private Sheet sheet;
+
+    /**
+     * @brief This method builds a workbook writer backed by a new temporary file
+     * @throws IOException if the temporary file can't be created
+     */
+    XlsWriter() throws IOException {
+        this.spool = File.createTempFile("workbook", ".xls");
+        this.cells = new LittleEndianOutput(new FileOutputStream(spool));
+    }
+
+    /**
+     * @brief This method starts a new sheet, the cells written from now on go in it
+     * @param name name of the sheet, at most 31 characters
+     */
+    void startSheet(final String name) {
+        requireNonNull(name, "name");
+        sheet = new Sheet(name, cells.count);
+        sheets.add(sheet);
+    }
+
+    /**
+     * @brief This method returns the number of sheets started so far
+     * @return number of sheets
+     */
+    int getNumberOfSheets() {
+        return sheets.size();
+    }
+
+    /**
+     * @brief This method writes a text cell of the current sheet
+     * @param row row of the cell, from 0
+     * @param column column of the cell, from 0
+     * @param value text of the cell
+     * @throws IOException if the text is too long for a record or the temporary file can't be written
+     */
+    void label(final int row, final int column, final CharSequence value) throws IOException {
+        boolean compressed = isLatin1(value);
+        int length = value.length();
+        int bytes = compressed ? length : 2 * length;
+        if (LABEL_HEADER + bytes > MAX_RECORD) {
+            throw new IOException("A cell can't hold " + length + " characters of text");
+        }
+        startCell(LABEL, row, column, LABEL_HEADER + bytes);
+        cells.putShort(length);
+        cells.putByte(compressed ? 0 : 1);
+        for (int i = 0; i < length; i++) {
+            if (compressed) {
+                cells.putByte(value.charAt(i));
+            } else {
+                cells.putShort(value.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * @brief This method writes a number cell of the current sheet
+     * @param row row of the cell, from 0
+     * @param column column of the cell, from 0
+     * @param value number of the cell
+     * @throws IOException if the temporary file can't be written
+     */
+    void number(final int row, final int column, final double value) throws IOException {
+        startCell(NUMBER, row, column, 14);
+        cells.putLong(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * @brief This method writes the workbook as a compound document
+     * @details No cell can be added afterwards
+     * @param output the output stream, flushed but not closed
+     * @throws IOException if the temporary file can't be read or the output fails
+     */
+    void writeTo(final OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        cells.close();
+        long globals = globals(null).length;
+        long[] offsets = new long[sheets.size()];
+        long size = globals;
+        for (int i = 0; i < sheets.size(); i++) {
+            offsets[i] = size;
+            size += SHEET_OVERHEAD + sheets.get(i).bytes(cells.count, next(i));
+        }
+        if (size > 0xFFFFFFFFL) {
+            throw new IOException("The workbook is larger than the 4GB an XLS file can hold");
+        }
+        long streamSize = Math.max(size, MIN_STREAM_SIZE);
+        int streamSectors = (int) ((streamSize + SECTOR - 1) / SECTOR);
+        int fatSectors = 0;
+        int difatSectors = 0;
+        while (true) {
+            long total = (long) streamSectors + fatSectors + difatSectors + 1;
+            int fat = (int) ((total + ENTRIES_PER_SECTOR - 1) / ENTRIES_PER_SECTOR);
+            int difat = fat > HEADER_FAT_ENTRIES ? (fat - HEADER_FAT_ENTRIES + ENTRIES_PER_SECTOR - 2) / (ENTRIES_PER_SECTOR - 1) : 0;
+            if (fat == fatSectors && difat == difatSectors) {
+                break;
+            }
+            fatSectors = fat;
+            difatSectors = difat;
+        }
+        int firstFat = streamSectors;
+        int firstDifat = firstFat + fatSectors;
+        int directory = firstDifat + difatSectors;
+
+        LittleEndianOutput out = new LittleEndianOutput(output);
+        writeHeader(out, fatSectors, difatSectors, firstFat, firstDifat, directory);
+        out.putBytes(globals(offsets));
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(spool.toPath()))) {
+            for (int i = 0; i < sheets.size(); i++) {
+                Sheet current = sheets.get(i);
+                writeSheetStart(out, current, 0 == i);
+                out.copy(in, current.bytes(cells.count, next(i)));
+                record(out, EOF, 0);
+            }
+        }
+        out.pad(streamSectors * (long) SECTOR - size);
+        for (long entry = 0; entry < fatSectors * (long) ENTRIES_PER_SECTOR; entry++) {
+            if (entry < streamSectors - 1) {
+                out.putInt((int) entry + 1);
+            } else if (entry == streamSectors - 1 || entry == directory) {
+                out.putInt(END_OF_CHAIN);
+            } else if (entry < firstDifat) {
+                out.putInt(FAT_SECTOR);
+            } else if (entry < directory) {
+                out.putInt(DIFAT_SECTOR);
+            } else {
+                out.putInt(FREE_SECTOR);
+            }
+        }
+        for (int i = 0; i < difatSectors; i++) {
+            for (int j = 0; j < ENTRIES_PER_SECTOR - 1; j++) {
+                int fat = HEADER_FAT_ENTRIES + i * (ENTRIES_PER_SECTOR - 1) + j;
+                out.putInt(fat < fatSectors ? firstFat + fat : FREE_SECTOR);
+            }
+            out.putInt(i + 1 < difatSectors ? firstDifat + i + 1 : END_OF_CHAIN);
+        }
+        writeDirectoryEntry(out, "Root Entry", 5, 1, END_OF_CHAIN, 0);
+        writeDirectoryEntry(out, "Workbook", 2, NO_STREAM, 0, streamSize);
+        for (int i = 2; i < SECTOR / DIRECTORY_ENTRY; i++) {
+            writeDirectoryEntry(out, "", 0, NO_STREAM, 0, 0L);
+        }
+        out.flush();
+    }
+
+    /**
+     * @brief This method deletes the temporary file
+     * @throws IOException if the temporary file can't be closed or deleted
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            cells.close();
+        } finally {
+            Files.deleteIfExists(spool.toPath());
+        }
+    }
+
+    private long next(final int sheetIndex) {
+        return sheetIndex + 1 < sheets.size() ? sheets.get(sheetIndex + 1).start : -1L;
+    }
+
+    private void startCell(final int type, final int row, final int column, final int length) throws IOException {
+        if (null == sheet) {
+            throw new IllegalStateException("No sheet has been started");
+        }
+        if (row < 0 || row >= MAX_ROWS || column < 0 || column >= MAX_COLUMNS) {
+            throw new IOException("Cell (" + row + ", " + column + ") is outside of an XLS sheet");
+        }
+        sheet.rows = Math.max(sheet.rows, row + 1);
+        sheet.columns = Math.max(sheet.columns, column + 1);
+        record(cells, type, length);
+        cells.putShort(row);
+        cells.putShort(column);
+        cells.putShort(CELL_FORMAT);
+    }
+
+    private byte[] globals(final long[] offsets) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        LittleEndianOutput out = new LittleEndianOutput(bytes);
+        writeBof(out, GLOBALS);
+        record(out, CODEPAGE, 2);
+        out.putShort(UTF_16);
+        record(out, WINDOW1, 18);
+        out.putShort(0);
+        out.putShort(0);
+        out.putShort(0x4000);
+        out.putShort(0x2000);
+        out.putShort(0x0038);
+        out.putShort(0);
+        out.putShort(0);
+        out.putShort(1);
+        out.putShort(0x0258);
+        for (int i = 0; i < FONTS; i++) {
+            record(out, FONT, 16 + FONT_NAME.length());
+            // 10 points, automatic colour, normal weight
+            out.putShort(200);
+            out.putShort(0);
+            out.putShort(0x7FFF);
+            out.putShort(400);
+            out.putShort(0);
+            out.putByte(0);
+            out.putByte(0);
+            out.putByte(0);
+            out.putByte(0);
+            out.putByte(FONT_NAME.length());
+            out.putByte(0);
+            out.putBytes(FONT_NAME.getBytes(StandardCharsets.ISO_8859_1));
+        }
+        for (int i = 0; i <= STYLE_FORMATS; i++) {
+            boolean style = i < STYLE_FORMATS;
+            record(out, XF, 20);
+            out.putShort(0);
+            out.putShort(0);
+            // locked, and for the style formats the style flag with no parent
+            out.putShort(style ? 0xFFF5 : 0x0001);
+            out.putByte(0x20);
+            out.putByte(0);
+            out.putShort(style ? 0xF400 : 0);
+            out.putInt(0);
+            out.putInt(0);
+            out.putShort(0x20C0);
+        }
+        record(out, STYLE, 4);
+        out.putShort(0x8000);
+        out.putByte(0);
+        out.putByte(0xFF);
+        for (int i = 0; i < sheets.size(); i++) {
+            byte[] name = sheets.get(i).name.getBytes(StandardCharsets.UTF_16LE);
+            record(out, BOUNDSHEET, 8 + name.length);
+            out.putInt(null == offsets ? 0 : (int) offsets[i]);
+            out.putShort(0);
+            out.putByte(name.length / 2);
+            out.putByte(1);
+            out.putBytes(name);
+        }
+        record(out, EOF, 0);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeSheetStart(final LittleEndianOutput out, final Sheet sheet, final boolean selected) throws IOException {
+        writeBof(out, WORKSHEET);
+        record(out, DIMENSIONS, 14);
+        out.putInt(0);
+        out.putInt(sheet.rows);
+        out.putShort(0);
+        out.putShort(sheet.columns);
+        out.putShort(0);
+        record(out, WINDOW2, 18);
+        // grid lines, headers, zero values, default header colour and outline symbols, the first sheet selected
+        out.putShort(selected ? 0x06B6 : 0x00B6);
+        out.putShort(0);
+        out.putShort(0);
+        out.putInt(64);
+        out.putShort(0);
+        out.putShort(0);
+        out.putInt(0);
+    }
+
+    private static void writeBof(final LittleEndianOutput out, final int type) throws IOException {
+        record(out, BOF, 16);
+        out.putShort(BIFF8);
+        out.putShort(type);
+        out.putShort(0x0DBB);
+        out.putShort(0x07CC);
+        out.putInt(0);
+        out.putInt(0x06);
+    }
+
+    private static void writeHeader(final LittleEndianOutput out, final int fatSectors, final int difatSectors,
+                                    final int firstFat, final int firstDifat, final int directory) throws IOException {
+        out.putBytes(SIGNATURE);
+        out.pad(16);
+        out.putShort(0x003E);
+        out.putShort(0x0003);
+        out.putShort(0xFFFE);
+        // 512 byte sectors and 64 byte mini sectors
+        out.putShort(9);
+        out.putShort(6);
+        out.pad(6);
+        out.putInt(0);
+        out.putInt(fatSectors);
+        out.putInt(directory);
+        out.putInt(0);
+        out.putInt(MIN_STREAM_SIZE);
+        out.putInt(END_OF_CHAIN);
+        out.putInt(0);
+        out.putInt(difatSectors > 0 ? firstDifat : END_OF_CHAIN);
+        out.putInt(difatSectors);
+        for (int i = 0; i < HEADER_FAT_ENTRIES; i++) {
+            out.putInt(i < fatSectors ? firstFat + i : FREE_SECTOR);
+        }
+    }
+
+    private static void writeDirectoryEntry(final LittleEndianOutput out, final String name, final int type,
+                                            final int child, final int start, final long size) throws IOException {
+        byte[] chars = name.getBytes(StandardCharsets.UTF_16LE);
+        out.putBytes(chars);
+        out.pad(64 - chars.length);
+        // the length of the name includes its terminating null, unused entries have none
+        out.putShort(0 == chars.length ? 0 : chars.length + 2);
+        out.putByte(type);
+        // black, in a tree of one
+        out.putByte(0 == type ? 0 : 1);
+        out.putInt(NO_STREAM);
+        out.putInt(NO_STREAM);
+        out.putInt(child);
+        out.pad(16 + 4 + 8 + 8);
+        out.putInt(start);
+        out.putLong(size);
+    }
+
+    private static void record(final LittleEndianOutput out, final int type, final int length) throws IOException {
+        out.putShort(type);
+        out.putShort(length);
+    }
+
+    private static boolean isLatin1(final CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @class Sheet
+     * @brief This class holds where the cells of a sheet start in the temporary file and how far they reach
+     */
+    private static final class Sheet {
+        private final String name;
+        private final long start;
+        private int rows;
+        private int columns;
+
+        Sheet(final String name, final long start) {
+            this.name = name;
+            this.start = start;
+        }
+
+        long bytes(final long end, final long next) {
+            return (next < 0 ? end : next) - start;
+        }
+    }
+
+    /**
+     * @class Little Endian Output
+     * @brief This class buffers little endian values on their way to an output stream and counts them
+     */
+    private static final class LittleEndianOutput {
+        private final OutputStream out;
+        private final byte[] buffer = new byte[1 << 16];
+        private int position;
+        private long count;
+        private boolean closed;
+
+        LittleEndianOutput(final OutputStream out) {
+            this.out = out;
+        }
+
+        void putByte(final int value) throws IOException {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) value;
+            count++;
+        }
+
+        void putShort(final int value) throws IOException {
+            putByte(value);
+            putByte(value >>> 8);
+        }
+
+        void putInt(final int value) throws IOException {
+            putShort(value);
+            putShort(value >>> 16);
+        }
+
+        void putLong(final long value) throws IOException {
+            putInt((int) value);
+            putInt((int) (value >>> 32));
+        }
+
+        void putBytes(final byte[] bytes) throws IOException {
+            for (byte value : bytes) {
+                putByte(value);
+            }
+        }
+
+        void pad(final long bytes) throws IOException {
+            for (long i = 0; i < bytes; i++) {
+                putByte(0);
+            }
+        }
+
+        void copy(final InputStream in, final long bytes) throws IOException {
+            flushBuffer();
+            long left = bytes;
+            while (left > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, left));
+                if (read < 0) {
+                    throw new IOException("The temporary file of the workbook is shorter than expected");
+                }
+                out.write(buffer, 0, read);
+                left -= read;
+                count += read;
+            }
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            out.flush();
+        }
+
+        void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                flushBuffer();
+                out.close();
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -16,8 +16,7 @@
 
 package uk.gov.gchq.syntheticdatagenerator.types;
 
-import com.github.javafaker.Faker;
-
+import java.util.Random;
 import java.util.StringJoiner;
 import java.io.Serializable;
 
@@ -35,17 +34,19 @@ public class Address implements Serializable {
 
     /**
      * @brief This method generates addresses
-     * @param faker fake data values
+     * @details Street names, cities and counties are picked from the {@link Vocabulary} of the backend
+     * @param backend source of the words and post codes
+     * @param random random value
      * @return generated addresses
      */
-    public static Address generate(final Faker faker) {
+    public static Address generate(final DataBackend backend, final Random random) {
+        Vocabulary vocabulary = backend.vocabulary();
         Address address = new Address();
-        com.github.javafaker.Address fakeAddress = faker.address();
-        address.setStreetAddressNumber(fakeAddress.streetAddressNumber());
-        address.setStreetName(fakeAddress.streetName());
-        address.setCity(fakeAddress.city());
-        address.setState(fakeAddress.state());
-        address.setZipCode(fakeAddress.zipCode());
+        address.setStreetAddressNumber(vocabulary.buildingNumber(random));
+        address.setStreetName(vocabulary.streetName(random));
+        address.setCity(vocabulary.city(random));
+        address.setState(vocabulary.county(random));
+        address.setZipCode(backend.postcode(random));
         return address;
     }
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.types;
+
+import org.apache.avro.reflect.Stringable;
+import uk.gov.gchq.syntheticdatagenerator.utils.DateHelper;
+
+import java.io.Serializable;
+
+/**
+ * @class Calendar Date
+ * @brief This class holds a date as a primitive epoch day
+ * @details It is written out as a d/M/yyyy string, which is only built when the date is serialised
+ */
+@Stringable
+public final class CalendarDate implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int epochDay;
+
+    /**
+     * @brief This method builds a date from its d/M/yyyy text, as needed when reading Avro files back
+     * @param date date in d/M/yyyy format
+     */
+    public CalendarDate(final String date) {
+        this(DateHelper.parse(date));
+    }
+
+    private CalendarDate(final int epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * @brief This method builds a date from an epoch day
+     * @param epochDay number of days since 1970-01-01
+     * @return the date
+     */
+    public static CalendarDate ofEpochDay(final int epochDay) {
+        return new CalendarDate(epochDay);
+    }
+
+    /**
+     * @brief This method returns the date as an epoch day
+     * @return number of days since 1970-01-01
+     */
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof CalendarDate && epochDay == ((CalendarDate) o).epochDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(epochDay);
+    }
+
+    /**
+     * @brief Change the date to a string format
+     * @return date in d/M/yyyy format
+     */
+    @Override
+    public String toString() {
+        return DateHelper.format(epochDay);
+    }
+}
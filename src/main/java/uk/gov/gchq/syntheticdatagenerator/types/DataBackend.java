@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.types;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @enum Data Backend
+ * @brief This enum class lists the sources names and addresses can be made up from
+ * @details Both use the same words, picked from a {@link Vocabulary}, and differ in where the words are read from and
+ * in how post codes are made
+ */
+public enum DataBackend {
+    /**
+     * Words read from Faker, post codes made by Faker from its regular expression
+     */
+    FAKER {
+        @Override
+        public Vocabulary vocabulary() {
+            return Vocabulary.faker();
+        }
+
+        @Override
+        public String postcode(final Random random) {
+            return ThreadLocalFaker.withFaker(random, faker -> faker.address().zipCode());
+        }
+    },
+    /**
+     * Words read from resources bundled with the generator, post codes made directly. Faker is never loaded.
+     */
+    NATIVE {
+        @Override
+        public Vocabulary vocabulary() {
+            return Vocabulary.embedded();
+        }
+
+        @Override
+        public String postcode(final Random random) {
+            return Vocabulary.postcode(random);
+        }
+    };
+
+    /**
+     * @brief This method returns the words names and addresses are made of
+     * @return vocabulary
+     */
+    public abstract Vocabulary vocabulary();
+
+    /**
+     * @brief This method makes up a UK post code
+     * @param random random value
+     * @return post code
+     */
+    public abstract String postcode(Random random);
+
+    /**
+     * @brief This method finds a backend by its name, ignoring case
+     * @param name name of the backend
+     * @return the backend
+     */
+    public static DataBackend fromName(final String name) {
+        return DataBackend.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
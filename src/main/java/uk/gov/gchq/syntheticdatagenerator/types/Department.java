@@ -38,12 +38,14 @@ public enum Department {
     HIGHER_POLYTECHNIC_SCHOOL_OF_ENGINEERING_AND_TECHNOLOGY,
     SCHOOL_DOCTORAL_AND_GRADUATES_STUDIES;
 
+    private static final EnumSampler<Department> SAMPLER = EnumSampler.uniform(Department.class);
+
     /**
      * @brief This method generates a department
      * @param random random value
      * @return department
      */
     public static Department generate(final Random random) {
-        return Department.values()[random.nextInt(Department.values().length)];
+        return SAMPLER.sample(random);
     }
 }
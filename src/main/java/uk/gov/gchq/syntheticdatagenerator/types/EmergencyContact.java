@@ -16,8 +16,6 @@
 
 package uk.gov.gchq.syntheticdatagenerator.types;
 
-import com.github.javafaker.Faker;
-import com.github.javafaker.Name;
 
 import java.util.Arrays;
 import java.util.Random;
@@ -36,14 +34,13 @@ public class EmergencyContact implements Serializable{
 
     /**
      * @brief This method generates emergency contacts
-     * @param faker fake data values
+     * @param backend source of the names
      * @param random random value
      * @return generated emergency contact
      */
-    public static EmergencyContact generate(final Faker faker, final Random random) {
+    public static EmergencyContact generate(final DataBackend backend, final Random random) {
         EmergencyContact contact = new EmergencyContact();
-        Name tempName = faker.name();
-        contact.setContactName(tempName.firstName() + " " + tempName.lastName());
+        contact.setContactName(backend.vocabulary().fullName(random));
         contact.setRelation(Relation.generate(random));
         contact.setContactNumbers(PhoneNumber.generateMany(random));
         return contact;
@@ -51,16 +48,16 @@ public class EmergencyContact implements Serializable{
 
     /**
      * @brief This method generates a list of emergency contacts
-     * @param faker fake data values
+     * @param backend source of the names
      * @param random random value
      * @return generated list of emergency contacts
      */
-    public static EmergencyContact[] generateMany(final Faker faker, final Random random) {
+    public static EmergencyContact[] generateMany(final DataBackend backend, final Random random) {
         int numberOfExtraContacts = random.nextInt(MAX_EXTRA_CONTACTS);
         EmergencyContact[] emergencyContacts = new EmergencyContact[numberOfExtraContacts + 1];
-        emergencyContacts[0] = EmergencyContact.generate(faker, random);
+        emergencyContacts[0] = EmergencyContact.generate(backend, random);
         for (int i = 1; i <= numberOfExtraContacts; i++) {
-            emergencyContacts[i] = EmergencyContact.generate(faker, random);
+            emergencyContacts[i] = EmergencyContact.generate(backend, random);
         }
         return emergencyContacts;
     }
@@ -16,9 +16,9 @@
 
 package uk.gov.gchq.syntheticdatagenerator.types;
 
-import com.github.javafaker.Faker;
-import com.github.javafaker.Name;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import uk.gov.gchq.syntheticdatagenerator.utils.DateHelper;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
 
 import java.io.Serializable;
 import java.util.Arrays;
@@ -39,8 +39,11 @@ public class Employee implements Serializable {
     private static final String TAX_CODE = "11500L";
 
     private String uid;
+    // only written when set, see CreateDataOptions#ID_FIELD
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long id;
     private String name;
-    private String dateOfBirth;
+    private CalendarDate dateOfBirth;
     private PhoneNumber[] contactNumbers;
     private EmergencyContact[] emergencyContacts;
     private Address address;
@@ -48,7 +51,7 @@ public class Employee implements Serializable {
     private String taxCode;
     private Nationality nationality;
     private Manager[] manager;
-    private String hireDate;
+    private CalendarDate hireDate;
     private Grade grade;
     private Department department;
     private int salaryAmount;
@@ -58,35 +61,82 @@ public class Employee implements Serializable {
 
     /**
      * @class Employee
-     * @brief This method generates random values for an employee
+     * @brief This method generates random values for an employee, with names and addresses made up by Faker
      * @param random random value
      * @return generated employees
      */
     public static Employee generate(final Random random) {
+        return generate(random, DataBackend.FAKER);
+    }
+
+    /**
+     * @brief This method generates random values for an employee
+     * @param random random value
+     * @param backend source of the names and addresses
+     * @return generated employees
+     */
+    public static Employee generate(final Random random, final DataBackend backend) {
+        return generate(random, backend, true);
+    }
+
+    /**
+     * @brief This method generates random values for an employee
+     * @param random random value
+     * @param backend source of the names and addresses
+     * @param withManagers true to make up a random tree of managers, false to leave the managers to be assigned later
+     * @return generated employees
+     */
+    public static Employee generate(final Random random, final DataBackend backend, final boolean withManagers) {
         Employee employee = new Employee();
-        Faker faker = ThreadLocalFaker.getFaker(random);
         employee.setUid(generateUID(random));
-        Name employeeName = faker.name();
-        employee.setName(employeeName.firstName() + " " + employeeName.lastName()); // we are storing name as a string not a Name
-        employee.setDateOfBirth(DateHelper.generateDateOfBirth(random));
+        employee.setName(backend.vocabulary().fullName(random)); // we are storing name as a string not a Name
+        int dateOfBirth = DateHelper.generateDateOfBirthEpochDay(random);
+        employee.dateOfBirth = CalendarDate.ofEpochDay(dateOfBirth);
         employee.setContactNumbers(PhoneNumber.generateMany(random));
-        employee.setEmergencyContacts(EmergencyContact.generateMany(faker, random));
-        employee.setAddress(Address.generate(faker));
+        employee.setEmergencyContacts(EmergencyContact.generateMany(backend, random));
+        employee.setAddress(Address.generate(backend, random));
         employee.setBankDetails(BankDetails.generate(random));
         employee.setTaxCode(generateTaxCode());
         employee.setNationality(Nationality.generate(random));
-        employee.setManager(Manager.generateMany(random, MIN_MANGERS_TREE_HEIGHT + random.nextInt(EXTRA_MANAGERS_TREE_HEIGHT_RANGE)));
-        employee.setHireDate(DateHelper.generateHireDate(employee.dateOfBirth, random));
+        if (withManagers) {
+            employee.setManager(Manager.generateMany(random, MIN_MANGERS_TREE_HEIGHT + random.nextInt(EXTRA_MANAGERS_TREE_HEIGHT_RANGE)));
+        }
+        employee.hireDate = CalendarDate.ofEpochDay(DateHelper.generateHireDateEpochDay(dateOfBirth, random));
         employee.setGrade(Grade.generate(random));
         employee.setDepartment(Department.generate(random));
         employee.setSalaryAmount(MIN_SALARY + random.nextInt(EXTRA_SALARY_RANGE));
         employee.setSalaryBonus(random.nextInt(SALARY_BONUS_RANGE));
-        employee.setWorkLocation(WorkLocation.generate(faker, random));
+        employee.setWorkLocation(WorkLocation.generate(backend, random));
         employee.setSex(Sex.generate(random));
 
         return employee;
     }
 
+    /**
+     * @brief This method generates the employee at an index of a file without generating the ones before it
+     * @details The employee draws from its own xoshiro generator seeded from the seed of the file and the index, with
+     * names and addresses made up by Faker. This is the record CreateData writes at that index with --seekable,
+     * before the first record, organisation chart and identifiers are applied to it.
+     * @param seed seed of the file
+     * @param index index of the employee in the file
+     * @return generated employee
+     */
+    public static Employee generateAt(final long seed, final long index) {
+        return generateAt(seed, index, RandomEngine.XOSHIRO, DataBackend.FAKER);
+    }
+
+    /**
+     * @brief This method generates the employee at an index of a file without generating the ones before it
+     * @param seed seed of the file
+     * @param index index of the employee in the file
+     * @param engine random number generator of the run
+     * @param backend source of the names and addresses
+     * @return generated employee
+     */
+    public static Employee generateAt(final long seed, final long index, final RandomEngine engine, final DataBackend backend) {
+        return generate(engine.createAt(seed, index), backend);
+    }
+
     /**
      * @brief This method generates an identifier
      * @param random random value
@@ -120,6 +170,22 @@ public class Employee implements Serializable {
         this.uid = uid;
     }
 
+    /**
+     * @brief This method returns the numeric identifier of an employee, set instead of the uid when asked for
+     * @return numeric identifier, or null
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @brief This method assigns the numeric identifier of an employee
+     * @param id numeric identifier
+     */
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
     /**
      * @brief This method returns the name of an employee
      * @return name
@@ -141,7 +207,7 @@ public class Employee implements Serializable {
      * @return date of birth
      */
     public String getDateOfBirth() {
-        return dateOfBirth;
+        return null == dateOfBirth ? null : dateOfBirth.toString();
     }
 
     /**
@@ -149,7 +215,7 @@ public class Employee implements Serializable {
      * @param dateOfBirth date of birth
      */
     public void setDateOfBirth(final String dateOfBirth) {
-        this.dateOfBirth = dateOfBirth;
+        this.dateOfBirth = null == dateOfBirth ? null : new CalendarDate(dateOfBirth);
     }
 
     /**
@@ -269,7 +335,7 @@ public class Employee implements Serializable {
      * @return hire date
      */
     public String getHireDate() {
-        return hireDate;
+        return null == hireDate ? null : hireDate.toString();
     }
 
     /**
@@ -277,7 +343,7 @@ public class Employee implements Serializable {
      * @param hireDate hire date
      */
     public void setHireDate(final String hireDate) {
-        this.hireDate = hireDate;
+        this.hireDate = null == hireDate ? null : new CalendarDate(hireDate);
     }
 
     /**
@@ -384,6 +450,7 @@ public class Employee implements Serializable {
     public String toString() {
         return new StringJoiner(", ", Employee.class.getSimpleName() + "[", "]")
                 .add("uid=" + uid)
+                .add("id=" + id)
                 .add("name='" + name + "'")
                 .add("dateOfBirth='" + dateOfBirth + "'")
                 .add("contactNumbers=" + Arrays.toString(contactNumbers))
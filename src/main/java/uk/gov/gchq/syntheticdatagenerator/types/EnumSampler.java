@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.types;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @class Enum Sampler
+ * @brief This class picks random constants of an enum
+ * @details The constants are read once, rather than cloning the array returned by {@code values()} on every pick.
+ * Constants are picked uniformly unless frequency weights are given.
+ *
+ * @param <E> the enum type
+ */
+public final class EnumSampler<E extends Enum<E>> {
+    private final E[] constants;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private EnumSampler(final E[] constants, final int[] cumulativeWeights) {
+        this.constants = constants;
+        this.cumulativeWeights = cumulativeWeights;
+        this.totalWeight = null == cumulativeWeights ? constants.length : cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    /**
+     * @brief This method builds a sampler picking every constant with the same probability
+     * @param type the enum class
+     * @param <E> the enum type
+     * @return the sampler
+     */
+    public static <E extends Enum<E>> EnumSampler<E> uniform(final Class<E> type) {
+        requireNonNull(type, "type");
+        return new EnumSampler<>(type.getEnumConstants(), null);
+    }
+
+    /**
+     * @brief This method builds a sampler picking each constant in proportion to its weight
+     * @param type the enum class
+     * @param weights one non negative weight per constant, in declaration order
+     * @param <E> the enum type
+     * @return the sampler
+     */
+    public static <E extends Enum<E>> EnumSampler<E> weighted(final Class<E> type, final int... weights) {
+        requireNonNull(type, "type");
+        E[] constants = type.getEnumConstants();
+        if (weights.length != constants.length) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has " + constants.length + " constants but "
+                    + weights.length + " weights were given");
+        }
+        int[] cumulative = new int[weights.length];
+        long total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Weights can't be negative: " + Arrays.toString(weights));
+            }
+            total += weights[i];
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The weights add up to more than " + Integer.MAX_VALUE);
+            }
+            cumulative[i] = (int) total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        return new EnumSampler<>(constants, cumulative);
+    }
+
+    /**
+     * @brief This method picks a random constant
+     * @param random random value
+     * @return the constant
+     */
+    public E sample(final Random random) {
+        int draw = random.nextInt(totalWeight);
+        if (null == cumulativeWeights) {
+            return constants[draw];
+        }
+        // first constant whose cumulative weight is above the draw
+        int index = Arrays.binarySearch(cumulativeWeights, draw + 1);
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            while (index > 0 && cumulativeWeights[index - 1] == draw + 1) {
+                index--;
+            }
+        }
+        return constants[index];
+    }
+
+    /**
+     * @brief This method returns the number of constants of the enum
+     * @return number of constants
+     */
+    public int size() {
+        return constants.length;
+    }
+}
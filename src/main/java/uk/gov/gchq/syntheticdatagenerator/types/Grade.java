@@ -32,13 +32,15 @@ public enum Grade {
     GRADE_7,
     GRADE_8;
 
+    private static final EnumSampler<Grade> SAMPLER = EnumSampler.uniform(Grade.class);
+
     /**
      * @brief This method generates a grade
      * @param random random value
      * @return grade
      */
     public static Grade generate(final Random random) {
-        return Grade.values()[random.nextInt(Grade.values().length)];
+        return SAMPLER.sample(random);
     }
 }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.types;
+
+import java.util.Locale;
+
+/**
+ * @enum Id Scheme
+ * @brief This enum class lists the ways the records of a run can be given their identifiers
+ * @details The derived schemes compute the identifier from the index of the record in the whole run, so the
+ * identifiers are unique over every file and thread without any coordination between them. Only those schemes have a
+ * {@link Derivation}, the random one draws the identifier with the rest of the record instead
+ */
+public enum IdScheme {
+    /**
+     * A random number drawn with the rest of the record, which may be repeated in large runs
+     */
+    RANDOM(null),
+    /**
+     * The index of the record in the run, so every file holds a contiguous range of identifiers
+     */
+    SEQUENTIAL((record, key) -> record),
+    /**
+     * The index of the record in the run shuffled by a keyed one to one function, so the identifiers are unique but
+     * don't give away the order of the records
+     */
+    PERMUTED(IdScheme::permute);
+
+    private static final long MASK = Long.MAX_VALUE;
+
+    private final Derivation derivation;
+
+    IdScheme(final Derivation derivation) {
+        this.derivation = derivation;
+    }
+
+    /**
+     * @interface Derivation
+     * @brief This interface computes the identifier of a record from its index in the run
+     */
+    @FunctionalInterface
+    public interface Derivation {
+        /**
+         * @brief This method returns the identifier of a record
+         * @param record index of the record in the run, not negative
+         * @param key key of the run
+         * @return identifier, not negative
+         */
+        long id(long record, long key);
+    }
+
+    /**
+     * @brief This method checks if the identifiers are derived from the index of the record
+     * @return true if every record of a run gets a different identifier
+     */
+    public boolean isDerived() {
+        return null != derivation;
+    }
+
+    /**
+     * @brief This method returns how the identifiers are derived from the index of the record
+     * @return the derivation, or null if the identifiers are drawn with the records
+     */
+    public Derivation getDerivation() {
+        return derivation;
+    }
+
+    /**
+     * @brief This method shuffles the non negative longs
+     * @details Each step, adding the key, xor shifting to the right or multiplying by an odd number modulo 2^63,
+     * maps the 63 bit values one to one onto themselves, so different values always give different results
+     * @param value non negative value
+     * @param key key of the shuffle
+     * @return shuffled value, not negative
+     */
+    public static long permute(final long value, final long key) {
+        long z = (value + key) & MASK;
+        z ^= z >>> 31;
+        z = (z * 0xBF58476D1CE4E5B9L) & MASK;
+        z ^= z >>> 27;
+        z = (z * 0x94D049BB133111EBL) & MASK;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @brief This method finds a scheme by its name, ignoring case
+     * @param name name of the scheme
+     * @return the scheme
+     */
+    public static IdScheme fromName(final String name) {
+        return IdScheme.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
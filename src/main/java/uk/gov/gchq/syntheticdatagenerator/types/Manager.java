@@ -30,6 +30,10 @@ import static java.util.Objects.requireNonNull;
  * @details When creating a Manager entity it is possible to create up to 3 levels of managers
  */
 public class Manager implements Serializable {
+    public static final String HUMAN_RESOURCES_MANAGER = "Human Resources Manager";
+    public static final String DEPARTMENT_MANAGER = "Department Manager";
+    public static final String CAREER_MANAGER = "Career Manager";
+
     private String uid;
     private Manager[] managers;
     private String managerType;
@@ -42,9 +46,9 @@ public class Manager implements Serializable {
      */
     public static Manager[] generateMany(final Random random, final int chain) {
         return new Manager[]{
-                generateRecursive(random, chain, "Human Resources Manager"),
-                generateRecursive(random, chain, "Department Manager"),
-                generateRecursive(random, chain, "Career Manager")
+                generateRecursive(random, chain, HUMAN_RESOURCES_MANAGER),
+                generateRecursive(random, chain, DEPARTMENT_MANAGER),
+                generateRecursive(random, chain, CAREER_MANAGER)
         };
     }
 
@@ -125,6 +129,15 @@ public class Manager implements Serializable {
         }
     }
 
+    /**
+     * @brief This method checks if the manager has managers of its own
+     * @details Unlike {@link #getManager()} this tells a top level manager (no list) apart from an empty list
+     * @return true if a list of managers has been assigned
+     */
+    public boolean hasManagers() {
+        return null != managers;
+    }
+
     /**
      * @brief This method assigns a list of managers
      * @param managers list of managers
@@ -248,12 +248,14 @@ public enum Nationality {
     ZAMBIAN,
     ZIMBABWEAN;
 
+    private static final EnumSampler<Nationality> SAMPLER = EnumSampler.uniform(Nationality.class);
+
     /**
      * @brief This method generates a nationality
      * @param random random value
      * @return nationality
      */
     public static Nationality generate(final Random random) {
-        return Nationality.values()[random.nextInt(Nationality.values().length)];
+        return SAMPLER.sample(random);
     }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.types;
+
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @class Org Chart
+ * @brief This class lays out one organisation chart shared by every record of a run
+ * @details The records of a run are numbered from 0. The first ones are the managers, level by level from the top,
+ * and the rest are staff. Every record below the top level has a Human Resources, a Department and a Career manager
+ * on the level above it: the Department manager follows the order of the records, so each manager has about
+ * {@code span} reports, while the other two are picked at random. Managers are records of the run, so the uid of
+ * every manager belongs to a generated person.
+ * Above the managers of a record only the chain of managers of the same type is kept, such as the Career manager
+ * of its Career manager, so a record holds three chains as long as the chart is deep rather than a tree growing
+ * threefold with every level.
+ * Nothing is kept per manager: the uid of a manager and the managers of a record are worked out from their place in
+ * the chart and the seed whenever they are asked for, so the chart takes the same memory whatever the size of the run.
+ */
+public final class OrgChart {
+    public static final int DEFAULT_SPAN = 10;
+    private static final String[] MANAGER_TYPES = {
+            Manager.HUMAN_RESOURCES_MANAGER, Manager.DEPARTMENT_MANAGER, Manager.CAREER_MANAGER
+    };
+    private static final int HUMAN_RESOURCES = 0;
+    private static final int DEPARTMENT = 1;
+    private static final int CAREER = 2;
+    private static final Manager[] NO_MANAGERS = new Manager[0];
+    // random uids are drawn from [0, 2^31 - 1), like Employee.generateUID
+    private static final int UID_BITS = 31;
+    private static final long UID_MASK = (1L << UID_BITS) - 1;
+    // sub-stream of the chart seed keying the random uids, apart from the picks of the records which use 0 and up
+    private static final long UID_STREAM = -2L;
+
+    private final int span;
+    private final long seed;
+    // index of the first manager of each level, top level first, followed by the number of managers
+    private final long[] levelStarts;
+    private final IdScheme.Derivation ids;
+    private final long idKey;
+    private final long uidKey;
+
+    private OrgChart(final int span, final long seed, final long[] levelStarts, final IdScheme.Derivation ids,
+                     final long idKey) {
+        this.span = span;
+        this.seed = seed;
+        this.levelStarts = levelStarts;
+        this.ids = ids;
+        this.idKey = idKey;
+        this.uidKey = SeedHelper.derive(seed, UID_STREAM);
+    }
+
+    /**
+     * @brief This method lays out the chart of a run
+     * @param numberOfRecords number of records of the run
+     * @param span number of reports of each manager, at least 2
+     * @param seed seed of the chart, the same seed always gives the same chart
+     * @return organisation chart
+     */
+    public static OrgChart build(final long numberOfRecords, final int span, final long seed) {
+        return build(numberOfRecords, span, seed, IdScheme.RANDOM, 0L);
+    }
+
+    /**
+     * @brief This method lays out the chart of a run
+     * @param numberOfRecords number of records of the run
+     * @param span number of reports of each manager, at least 2
+     * @param seed seed of the chart, the same seed always gives the same chart
+     * @param ids scheme the records are given their identifiers with, the uids of the managers follow it
+     * @param idKey key of the identifiers of the run
+     * @return organisation chart
+     */
+    public static OrgChart build(final long numberOfRecords, final int span, final long seed, final IdScheme ids,
+                                 final long idKey) {
+        if (numberOfRecords < 1) {
+            throw new IllegalArgumentException("numberOfRecords must be at least 1 but was " + numberOfRecords);
+        }
+        if (span < 2) {
+            throw new IllegalArgumentException("span must be at least 2 but was " + span);
+        }
+        List<Long> widths = new ArrayList<>();
+        long width = numberOfRecords;
+        long managers = 0;
+        do {
+            width = (width + span - 1) / span;
+            widths.add(0, width);
+            managers += width;
+        } while (width > 1);
+        if (managers > numberOfRecords) {
+            // too few records for a full chart, everybody reports to a single manager
+            widths.clear();
+            widths.add(1L);
+            managers = 1;
+        }
+        if (managers > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many managers for " + numberOfRecords + " records, use a larger span");
+        }
+        long[] levelStarts = new long[widths.size() + 1];
+        for (int level = 0; level < widths.size(); level++) {
+            levelStarts[level + 1] = levelStarts[level] + widths.get(level);
+        }
+        return new OrgChart(span, seed, levelStarts, ids.getDerivation(), idKey);
+    }
+
+    /**
+     * @brief This method returns the number of managers, who are the first records of the run
+     * @return number of managers
+     */
+    public int getNumberOfManagers() {
+        return (int) levelStarts[levelStarts.length - 1];
+    }
+
+    /**
+     * @brief This method returns the number of levels of managers
+     * @return number of levels
+     */
+    public int getNumberOfLevels() {
+        return levelStarts.length - 1;
+    }
+
+    /**
+     * @brief This method checks if a record is a manager
+     * @param record index of the record in the run
+     * @return true for managers
+     */
+    public boolean isManager(final long record) {
+        return record < getNumberOfManagers();
+    }
+
+    /**
+     * @brief This method returns the uid of a manager
+     * @details With a derived {@link IdScheme} it is the identifier of the record, otherwise the index of the
+     * manager shuffled by the seed of the chart over the range of random uids, so no two managers share a uid
+     * @param record index of the record in the run
+     * @return uid of the manager, or null if the record is not a manager
+     */
+    public String getUid(final long record) {
+        if (!isManager(record)) {
+            return null;
+        }
+        if (null != ids) {
+            return String.valueOf(ids.id(record, idKey));
+        }
+        long uid = permuteUid(record);
+        // Integer.MAX_VALUE is outside of the range, walk on to the next value of its cycle
+        while (uid == UID_MASK) {
+            uid = permuteUid(uid);
+        }
+        return String.valueOf(uid);
+    }
+
+    /**
+     * @brief This method returns the managers of a record
+     * @param record index of the record in the run
+     * @return the Human Resources, Department and Career managers of the record, or none for the top level
+     */
+    public Manager[] getManagers(final long record) {
+        int level = levelOf(record);
+        if (0 == level) {
+            return NO_MANAGERS;
+        }
+        Manager[] managers = new Manager[MANAGER_TYPES.length];
+        for (int type = 0; type < MANAGER_TYPES.length; type++) {
+            managers[type] = role(type, managerOf(type, record, level), level - 1);
+        }
+        return managers;
+    }
+
+    /**
+     * @brief This method builds a manager of the given type along with the chain of managers of that type above it
+     * @param type type of the manager
+     * @param manager index of the manager in the run
+     * @param level level of the manager
+     * @return the manager
+     */
+    private Manager role(final int type, final long manager, final int level) {
+        Manager role = new Manager();
+        role.setUid(getUid(manager));
+        role.setManagerType(MANAGER_TYPES[type]);
+        // only the manager of the same type is kept above a manager, a chain rather than a tree
+        role.setManager(0 == level ? null : new Manager[]{role(type, managerOf(type, manager, level), level - 1)});
+        return role;
+    }
+
+    /**
+     * @brief This method picks the manager of a given type of a record on the level above it
+     * @param type type of the manager
+     * @param record index of the record in the run
+     * @param level level of the record, the number of levels for staff
+     * @return index of the manager in the run
+     */
+    private long managerOf(final int type, final long record, final int level) {
+        int above = level - 1;
+        long position = record - levelStarts[level];
+        long width = levelStarts[level] - levelStarts[above];
+        long picks = SeedHelper.derive(seed, record);
+        long offset;
+        switch (type) {
+            case HUMAN_RESOURCES:
+                offset = Math.floorMod(picks, width);
+                break;
+            case DEPARTMENT:
+                offset = Math.min(position / span, width - 1);
+                break;
+            case CAREER:
+                offset = Math.floorMod(SeedHelper.mix(picks), width);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown manager type " + type);
+        }
+        return levelStarts[above] + offset;
+    }
+
+    private int levelOf(final long record) {
+        int level = 0;
+        while (level < getNumberOfLevels() && record >= levelStarts[level + 1]) {
+            level++;
+        }
+        return level;
+    }
+
+    private long permuteUid(final long value) {
+        long z = (value + uidKey) & UID_MASK;
+        z ^= z >>> 16;
+        z = (z * 0x45D9F3BL) & UID_MASK;
+        z ^= z >>> 13;
+        z = (z * 0x2C1B3C6DL) & UID_MASK;
+        return z ^ (z >>> 16);
+    }
+}
@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.syntheticdatagenerator.types;
 
+import uk.gov.gchq.syntheticdatagenerator.utils.DigitHelper;
+
 import java.util.Random;
 import java.util.StringJoiner;
 import java.io.Serializable;
@@ -28,6 +30,7 @@ import java.io.Serializable;
 public class PhoneNumber implements Serializable {
     private static final int MAX_EXTRA_CONTACTS = 3;
     private static final int PHONE_NUMBER_LENGTH = 10; // excluding leading zero
+    private static final String LEADING_ZERO = "0";
 
     private String type; // is this a home number, work number, mobile number ...
     private String number;
@@ -67,7 +70,7 @@ public class PhoneNumber implements Serializable {
     private static PhoneNumber generate(final Random random, final String[] possibleTypes) {
         PhoneNumber phoneNumber = new PhoneNumber();
         phoneNumber.type = possibleTypes[random.nextInt(possibleTypes.length)];
-        phoneNumber.number = String.format("0%0" + PHONE_NUMBER_LENGTH + "d", random.nextInt((int) Math.pow(10, PHONE_NUMBER_LENGTH)));
+        phoneNumber.number = DigitHelper.randomDigits(random, LEADING_ZERO, PHONE_NUMBER_LENGTH);
         return phoneNumber;
     }
 
@@ -29,12 +29,14 @@ public enum Relation {
     CHILDREN,
     COUSIN;
 
+    private static final EnumSampler<Relation> SAMPLER = EnumSampler.uniform(Relation.class);
+
     /**
      * @brief This method generates a relation
      * @param random random value
      * @return relation
      */
     public static Relation generate(final Random random) {
-        return Relation.values()[random.nextInt(Relation.values().length)];
+        return SAMPLER.sample(random);
     }
 }
@@ -32,13 +32,15 @@ public enum Sex {
     FEMALE,
     NOT_SPECIFIED;
 
+    private static final EnumSampler<Sex> SAMPLER = EnumSampler.uniform(Sex.class);
+
     /**
      * @brief This method generates a person's sex
      * @param random random value
      * @return sex
      */
     public static Sex generate(final Random random) {
-        return Sex.values()[random.nextInt(Sex.values().length)];
+        return SAMPLER.sample(random);
     }
 }
 
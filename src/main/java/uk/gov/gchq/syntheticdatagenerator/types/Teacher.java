@@ -16,9 +16,9 @@
 
 package uk.gov.gchq.syntheticdatagenerator.types;
 
-import com.github.javafaker.Faker;
-import com.github.javafaker.Name;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import uk.gov.gchq.syntheticdatagenerator.utils.DateHelper;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
 
 import java.io.Serializable;
 import java.util.Arrays;
@@ -38,8 +38,11 @@ public class Teacher implements Serializable {
     private static final int SALARY_BONUS_RANGE = 10_000;
 
     private String uid;
+    // only written when set, see CreateDataOptions#ID_FIELD
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long id;
     private String name;
-    private String dateOfBirth;
+    private CalendarDate dateOfBirth;
     private PhoneNumber[] contactNumbers;
     private EmergencyContact[] emergencyContacts;
     private Address address;
@@ -47,40 +50,87 @@ public class Teacher implements Serializable {
     private Subject subject;
     private Department department;
     private Manager[] manager;
-    private String hireDate;
+    private CalendarDate hireDate;
     private int salaryAmount;
     private int salaryBonus;
     private WorkLocation workLocation;
     private Sex sex;
 
     /**
-     * @brief This method generates random values for a teacher
+     * @brief This method generates random values for a teacher, with names and addresses made up by Faker
      * @param random random value
      * @return generated teachers
      */
     public static Teacher generate(final Random random) {
+        return generate(random, DataBackend.FAKER);
+    }
+
+    /**
+     * @brief This method generates random values for a teacher
+     * @param random random value
+     * @param backend source of the names and addresses
+     * @return generated teachers
+     */
+    public static Teacher generate(final Random random, final DataBackend backend) {
+        return generate(random, backend, true);
+    }
+
+    /**
+     * @brief This method generates random values for a teacher
+     * @param random random value
+     * @param backend source of the names and addresses
+     * @param withManagers true to make up a random tree of managers, false to leave the managers to be assigned later
+     * @return generated teachers
+     */
+    public static Teacher generate(final Random random, final DataBackend backend, final boolean withManagers) {
         Teacher teacher = new Teacher();
-        Faker faker = ThreadLocalFaker.getFaker(random);
         teacher.setUid(generateUID(random));
-        Name teacherName = faker.name();
-        teacher.setName(teacherName.firstName() + " " + teacherName.lastName()); // we are storing name as a string not a Name
-        teacher.setDateOfBirth(DateHelper.generateDateOfBirth(random));
+        teacher.setName(backend.vocabulary().fullName(random)); // we are storing name as a string not a Name
+        int dateOfBirth = DateHelper.generateDateOfBirthEpochDay(random);
+        teacher.dateOfBirth = CalendarDate.ofEpochDay(dateOfBirth);
         teacher.setContactNumbers(PhoneNumber.generateMany(random));
-        teacher.setEmergencyContacts(EmergencyContact.generateMany(faker, random));
-        teacher.setAddress(Address.generate(faker));
+        teacher.setEmergencyContacts(EmergencyContact.generateMany(backend, random));
+        teacher.setAddress(Address.generate(backend, random));
         teacher.setNationality(Nationality.generate(random));
         teacher.setSubject(Subject.generate(random));
         teacher.setDepartment(Department.generate(random));
-        teacher.setManager(Manager.generateMany(random, MIN_MANGERS_TREE_HEIGHT + random.nextInt(EXTRA_MANAGERS_TREE_HEIGHT_RANGE)));
-        teacher.setHireDate(DateHelper.generateHireDate(teacher.dateOfBirth, random));
+        if (withManagers) {
+            teacher.setManager(Manager.generateMany(random, MIN_MANGERS_TREE_HEIGHT + random.nextInt(EXTRA_MANAGERS_TREE_HEIGHT_RANGE)));
+        }
+        teacher.hireDate = CalendarDate.ofEpochDay(DateHelper.generateHireDateEpochDay(dateOfBirth, random));
         teacher.setSalaryAmount(MIN_SALARY + random.nextInt(EXTRA_SALARY_RANGE));
         teacher.setSalaryBonus(random.nextInt(SALARY_BONUS_RANGE));
-        teacher.setWorkLocation(WorkLocation.generate(faker, random));
+        teacher.setWorkLocation(WorkLocation.generate(backend, random));
         teacher.setSex(Sex.generate(random));
 
         return teacher;
     }
 
+    /**
+     * @brief This method generates the teacher at an index of a file without generating the ones before it
+     * @details The teacher draws from its own xoshiro generator seeded from the seed of the file and the index, with
+     * names and addresses made up by Faker. This is the record CreateData writes at that index with --seekable,
+     * before the first record, organisation chart and identifiers are applied to it.
+     * @param seed seed of the file
+     * @param index index of the teacher in the file
+     * @return generated teacher
+     */
+    public static Teacher generateAt(final long seed, final long index) {
+        return generateAt(seed, index, RandomEngine.XOSHIRO, DataBackend.FAKER);
+    }
+
+    /**
+     * @brief This method generates the teacher at an index of a file without generating the ones before it
+     * @param seed seed of the file
+     * @param index index of the teacher in the file
+     * @param engine random number generator of the run
+     * @param backend source of the names and addresses
+     * @return generated teacher
+     */
+    public static Teacher generateAt(final long seed, final long index, final RandomEngine engine, final DataBackend backend) {
+        return generate(engine.createAt(seed, index), backend);
+    }
+
     /**
      * @brief This method generates an identifier
      * @param random random value
@@ -106,6 +156,22 @@ public class Teacher implements Serializable {
         this.uid = uid;
     }
 
+    /**
+     * @brief This method returns the numeric identifier of a teacher, set instead of the uid when asked for
+     * @return numeric identifier, or null
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @brief This method assigns the numeric identifier of a teacher
+     * @param id numeric identifier
+     */
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
     /**
      * @brief This method returns the name of a teacher
      * @return name
@@ -127,7 +193,7 @@ public class Teacher implements Serializable {
      * @return date of birth
      */
     public String getDateOfBirth() {
-        return dateOfBirth;
+        return null == dateOfBirth ? null : dateOfBirth.toString();
     }
 
     /**
@@ -135,7 +201,7 @@ public class Teacher implements Serializable {
      * @param dateOfBirth date of birth
      */
     public void setDateOfBirth(final String dateOfBirth) {
-        this.dateOfBirth = dateOfBirth;
+        this.dateOfBirth = null == dateOfBirth ? null : new CalendarDate(dateOfBirth);
     }
 
     /**
@@ -249,7 +315,7 @@ public class Teacher implements Serializable {
      * @return hire date
      */
     public String getHireDate() {
-        return hireDate;
+        return null == hireDate ? null : hireDate.toString();
     }
 
     /**
@@ -257,7 +323,7 @@ public class Teacher implements Serializable {
      * @param hireDate hire date
      */
     public void setHireDate(final String hireDate) {
-        this.hireDate = hireDate;
+        this.hireDate = null == hireDate ? null : new CalendarDate(hireDate);
     }
 
     /**
@@ -333,6 +399,7 @@ public class Teacher implements Serializable {
     public String toString() {
         return new StringJoiner(", ", Teacher.class.getSimpleName() + "[", "]")
                 .add("uid=" + uid)
+                .add("id=" + id)
                 .add("name='" + name + "'")
                 .add("dateOfBirth='" + dateOfBirth + "'")
                 .add("contactNumbers=" + Arrays.toString(contactNumbers))
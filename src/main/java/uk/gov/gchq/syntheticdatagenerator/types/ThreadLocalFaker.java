@@ -17,20 +17,35 @@
 package uk.gov.gchq.syntheticdatagenerator.types;
 
 import com.github.javafaker.Faker;
+import uk.gov.gchq.syntheticdatagenerator.utils.DelegatingRandom;
+import uk.gov.gchq.syntheticdatagenerator.utils.VirtualThreads;
 
 import java.util.Locale;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * @class Thread Local Faker
  * @brief This class generates fake data
+ * @details Every thread builds one Faker, the first time it needs one, and keeps it. The Faker draws its values
+ * through a {@link DelegatingRandom} which is pointed at the random source given on each call, so a thread moving on
+ * to a new file, with a new random source, reuses its Faker rather than loading Faker's locale files again.
+ * @details Virtual threads are too many to each keep a Faker, so {@link #withFaker(Random, Function)} lends them one
+ * from a shared pool instead, which only grows to the number of virtual threads using a Faker at the same time.
  */
 public final class ThreadLocalFaker {
+    private static final Locale LOCALE = new Locale("en-GB");
 
-    private static ThreadLocal<Faker> faker = new ThreadLocal<>();
-    private static ThreadLocal<Random> currentRandom = new ThreadLocal<>();
+    private static final ThreadLocal<Slot> SLOTS = new ThreadLocal<>();
+    private static final Queue<Slot> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong CONSTRUCTIONS = new AtomicLong();
+    private static final AtomicLong CONSTRUCTION_NANOS = new AtomicLong();
 
     private ThreadLocalFaker() {
     }
@@ -42,19 +57,91 @@ public final class ThreadLocalFaker {
      */
     public static Faker getFaker(final Random random) {
         requireNonNull(random, "random");
-        if (currentRandom.get() == null || random != currentRandom.get()) {
-            //new random triggered
-            currentRandom.set(random);
-            faker.set(new Faker(new Locale("en-GB"), random));
+        Slot slot = SLOTS.get();
+        if (null == slot) {
+            slot = newSlot(random);
+            SLOTS.set(slot);
+        } else {
+            slot.source.setDelegate(random);
         }
-        return faker.get();
+        return slot.faker;
     }
 
-    public void unloadFaker(){
-        faker.remove();
+    /**
+     * @brief This method generates fake data with a Faker drawing from a random source
+     * @details Platform threads use their own Faker, virtual threads borrow one from the shared pool for the call
+     * @param random random source the Faker draws from
+     * @param use function generating the data from the Faker, which must not keep the Faker
+     * @param <T> type of the data
+     * @return generated fake data
+     */
+    public static <T> T withFaker(final Random random, final Function<Faker, T> use) {
+        requireNonNull(use, "use");
+        if (!VirtualThreads.isVirtual(Thread.currentThread())) {
+            return use.apply(getFaker(random));
+        }
+        requireNonNull(random, "random");
+        Slot slot = POOL.poll();
+        if (null == slot) {
+            slot = newSlot(random);
+        } else {
+            slot.source.setDelegate(random);
+        }
+        try {
+            return use.apply(slot.faker);
+        } finally {
+            POOL.offer(slot);
+        }
     }
 
-    public void unloadRandom(){
-        currentRandom.remove();
+    /**
+     * @brief This method builds a Faker and the random source it draws from
+     * @param random random source the Faker draws from at first
+     * @return the new slot
+     */
+    private static Slot newSlot(final Random random) {
+        long start = System.nanoTime();
+        DelegatingRandom source = new DelegatingRandom(random);
+        Slot slot = new Slot(new Faker(LOCALE, source), source);
+        CONSTRUCTION_NANOS.addAndGet(System.nanoTime() - start);
+        CONSTRUCTIONS.incrementAndGet();
+        return slot;
+    }
+
+    /**
+     * @brief This method drops the Faker of the current thread, and with it the last random source it was given
+     */
+    public static void unload() {
+        SLOTS.remove();
+    }
+
+    /**
+     * @brief This method returns the number of Fakers built so far, over all threads
+     * @return number of Fakers built
+     */
+    public static long getConstructionCount() {
+        return CONSTRUCTIONS.get();
+    }
+
+    /**
+     * @brief This method returns the time spent building Fakers so far, over all threads
+     * @param unit unit of the time returned
+     * @return time spent building Fakers
+     */
+    public static long getConstructionTime(final TimeUnit unit) {
+        return unit.convert(CONSTRUCTION_NANOS.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @brief The Faker of a thread and the random source it draws from
+     */
+    private static final class Slot {
+        private final Faker faker;
+        private final DelegatingRandom source;
+
+        Slot(final Faker faker, final DelegatingRandom source) {
+            this.faker = faker;
+            this.source = source;
+        }
     }
 }
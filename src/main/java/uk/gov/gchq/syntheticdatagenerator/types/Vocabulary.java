@@ -0,0 +1,306 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.types;
+
+import com.github.javafaker.service.FakeValuesService;
+import com.github.javafaker.service.RandomService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @class Vocabulary
+ * @brief This class holds the words names and addresses are made of, loaded once and picked by index
+ * @details Every word is a single shared string, so generating a record no longer allocates copies of the same names,
+ * and columns such as the city or county repeat values that Avro and Parquet can dictionary encode. Street names and
+ * cities are made up from several words, so a fixed pool of them is built up front rather than one per record.
+ * The words are read either from Faker or from the copy of Faker's word lists bundled as resources, which loads
+ * without Faker and its YAML files.
+ */
+public final class Vocabulary {
+    private static final Locale LOCALE = new Locale("en-GB");
+    private static final int STREET_POOL_SIZE = 16_384;
+    private static final int CITY_POOL_SIZE = 4_096;
+    // the pools are the same on every run, whatever the seed of the data
+    private static final long POOL_SEED = 0x5EED_C17EL;
+    private static final int MIN_BUILDING_NUMBER_DIGITS = 3;
+    private static final int EXTRA_BUILDING_NUMBER_DIGITS = 3;
+    private static final String RESOURCE_DIRECTORY = "/vocabulary/";
+    // letters allowed in each part of a UK post code, as in the en-GB pattern of Faker
+    private static final char[] AREA_LETTERS = "ABCDEFGHIJKLMNOPRSTUWYZ".toCharArray();
+    private static final char[] DISTRICT_LETTERS = "ABCDEFGHKLMNOPQRSTUVWXY".toCharArray();
+    private static final char[] SUB_DISTRICT_AFTER_LETTER = "ABEHMNPRVWXY0123456789".toCharArray();
+    private static final char[] SUB_DISTRICT_AFTER_DIGIT = "ABCDEFGHJKPSTUW0123456789".toCharArray();
+    private static final char[] UNIT_LETTERS = "ABDEFGHJLNPQRSTUWXYZ".toCharArray();
+
+    private final String[] maleFirstNames;
+    private final String[] femaleFirstNames;
+    private final String[] lastNames;
+    private final String[] counties;
+    private final String[] streetNames;
+    private final String[] cities;
+
+    /**
+     * @brief This method builds a vocabulary out of its word lists
+     * @param maleFirstNames male first names
+     * @param femaleFirstNames female first names
+     * @param lastNames last names
+     * @param streetSuffixes street suffixes, such as Avenue
+     * @param cityPrefixes city prefixes, such as North
+     * @param citySuffixes city suffixes, such as ton
+     * @param counties counties
+     */
+    public Vocabulary(final List<String> maleFirstNames, final List<String> femaleFirstNames, final List<String> lastNames,
+                      final List<String> streetSuffixes, final List<String> cityPrefixes, final List<String> citySuffixes,
+                      final List<String> counties) {
+        this.maleFirstNames = toArray(maleFirstNames, "maleFirstNames");
+        this.femaleFirstNames = toArray(femaleFirstNames, "femaleFirstNames");
+        this.lastNames = toArray(lastNames, "lastNames");
+        this.counties = toArray(counties, "counties");
+        String[] suffixes = toArray(streetSuffixes, "streetSuffixes");
+        String[] prefixes = toArray(cityPrefixes, "cityPrefixes");
+        String[] endings = toArray(citySuffixes, "citySuffixes");
+
+        Random random = new Random(POOL_SEED);
+        Set<String> streets = new LinkedHashSet<>();
+        for (int i = 0; i < STREET_POOL_SIZE; i++) {
+            // same shapes as Faker: a first or last name and a suffix
+            String name = random.nextBoolean() ? firstName(random) : lastName(random);
+            streets.add(name + " " + pick(suffixes, random));
+        }
+        this.streetNames = streets.toArray(new String[0]);
+        Set<String> towns = new LinkedHashSet<>();
+        for (int i = 0; i < CITY_POOL_SIZE; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    towns.add(pick(prefixes, random) + " " + firstName(random) + pick(endings, random));
+                    break;
+                case 1:
+                    towns.add(pick(prefixes, random) + " " + firstName(random));
+                    break;
+                case 2:
+                    towns.add(firstName(random) + pick(endings, random));
+                    break;
+                default:
+                    towns.add(lastName(random) + pick(endings, random));
+                    break;
+            }
+        }
+        this.cities = towns.toArray(new String[0]);
+    }
+
+    /**
+     * @brief This method returns the vocabulary of Faker's en-GB locale
+     * @details It is read from Faker the first time it is needed
+     * @return shared vocabulary
+     */
+    public static Vocabulary faker() {
+        return FakerHolder.VOCABULARY;
+    }
+
+    /**
+     * @brief This method returns the vocabulary bundled with the generator
+     * @details It is read from the resources the first time it is needed, Faker is not used
+     * @return shared vocabulary
+     */
+    public static Vocabulary embedded() {
+        return EmbeddedHolder.VOCABULARY;
+    }
+
+    /**
+     * @brief This method picks a first name, male or female with the same probability
+     * @param random random value
+     * @return first name
+     */
+    public String firstName(final Random random) {
+        return pick(random.nextBoolean() ? femaleFirstNames : maleFirstNames, random);
+    }
+
+    /**
+     * @brief This method picks a last name
+     * @param random random value
+     * @return last name
+     */
+    public String lastName(final Random random) {
+        return pick(lastNames, random);
+    }
+
+    /**
+     * @brief This method makes up a full name, a first name and a last name
+     * @param random random value
+     * @return full name
+     */
+    public String fullName(final Random random) {
+        String firstName = firstName(random);
+        return firstName + " " + lastName(random);
+    }
+
+    /**
+     * @brief This method picks a street name
+     * @param random random value
+     * @return street name
+     */
+    public String streetName(final Random random) {
+        return pick(streetNames, random);
+    }
+
+    /**
+     * @brief This method makes up a building number, with 3 to 5 digits
+     * @param random random value
+     * @return building number
+     */
+    public String buildingNumber(final Random random) {
+        char[] digits = new char[MIN_BUILDING_NUMBER_DIGITS + random.nextInt(EXTRA_BUILDING_NUMBER_DIGITS)];
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = digit(random);
+        }
+        return new String(digits);
+    }
+
+    /**
+     * @brief This method picks a city
+     * @param random random value
+     * @return city
+     */
+    public String city(final Random random) {
+        return pick(cities, random);
+    }
+
+    /**
+     * @brief This method picks a county
+     * @param random random value
+     * @return county
+     */
+    public String county(final Random random) {
+        return pick(counties, random);
+    }
+
+    /**
+     * @brief This method makes up a UK post code, such as {@code SW1A 2AA}
+     * @details The outward code is an area letter followed by a letter and a digit or by a digit, each optionally
+     * followed by one more character, and the inward code is a digit and two letters
+     * @param random random value
+     * @return post code
+     */
+    public static String postcode(final Random random) {
+        char[] postcode = new char[8];
+        int length = 0;
+        postcode[length++] = pick(AREA_LETTERS, random);
+        char[] subDistrict;
+        if (random.nextBoolean()) {
+            postcode[length++] = pick(DISTRICT_LETTERS, random);
+            postcode[length++] = digit(random);
+            subDistrict = SUB_DISTRICT_AFTER_LETTER;
+        } else {
+            postcode[length++] = digit(random);
+            subDistrict = SUB_DISTRICT_AFTER_DIGIT;
+        }
+        if (random.nextBoolean()) {
+            postcode[length++] = pick(subDistrict, random);
+        }
+        postcode[length++] = ' ';
+        postcode[length++] = digit(random);
+        postcode[length++] = pick(UNIT_LETTERS, random);
+        postcode[length++] = pick(UNIT_LETTERS, random);
+        return new String(postcode, 0, length);
+    }
+
+    private static char digit(final Random random) {
+        return (char) ('0' + random.nextInt(10));
+    }
+
+    private static char pick(final char[] characters, final Random random) {
+        return characters[random.nextInt(characters.length)];
+    }
+
+    private static String pick(final String[] words, final Random random) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String[] toArray(final List<String> words, final String name) {
+        requireNonNull(words, name);
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException(name + " can't be empty");
+        }
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * @brief Loads the vocabulary of Faker when it is first used
+     */
+    private static final class FakerHolder {
+        private static final Vocabulary VOCABULARY = load();
+
+        private static Vocabulary load() {
+            FakeValuesService values = new FakeValuesService(LOCALE, new RandomService());
+            return new Vocabulary(list(values, "name.male_first_name"), list(values, "name.female_first_name"),
+                    list(values, "name.last_name"), list(values, "address.street_suffix"),
+                    list(values, "address.city_prefix"), list(values, "address.city_suffix"),
+                    list(values, "address.county"));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<String> list(final FakeValuesService values, final String key) {
+            Object words = values.fetchObject(key);
+            if (!(words instanceof List)) {
+                throw new IllegalStateException("Faker has no word list " + key);
+            }
+            return (List<String>) words;
+        }
+    }
+
+    /**
+     * @brief Loads the vocabulary bundled with the generator when it is first used
+     */
+    private static final class EmbeddedHolder {
+        private static final Vocabulary VOCABULARY = new Vocabulary(read("male-first-names"),
+                read("female-first-names"), read("last-names"), read("street-suffixes"), read("city-prefixes"),
+                read("city-suffixes"), read("counties"));
+
+        private static List<String> read(final String name) {
+            String resource = RESOURCE_DIRECTORY + name + ".txt";
+            InputStream in = Vocabulary.class.getResourceAsStream(resource);
+            if (null == in) {
+                throw new IllegalStateException("Word list " + resource + " is missing");
+            }
+            List<String> words = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String word;
+                while (null != (word = reader.readLine())) {
+                    if (!word.isEmpty()) {
+                        words.add(word);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read word list " + resource, e);
+            }
+            return words;
+        }
+    }
+}
@@ -16,8 +16,6 @@
 
 package uk.gov.gchq.syntheticdatagenerator.types;
 
-import com.github.javafaker.Faker;
-
 import java.util.Random;
 import java.util.StringJoiner;
 import java.io.Serializable;
@@ -32,13 +30,13 @@ public class WorkLocation implements Serializable{
 
     /**
      * @brief This method generates work locations
-     * @param faker fake data value
+     * @param backend source of the words and post codes of the address
      * @param random random value
      * @return generated work location
      */
-    public static WorkLocation generate(final Faker faker, final Random random) {
+    public static WorkLocation generate(final DataBackend backend, final Random random) {
         WorkLocation workLocation = new WorkLocation();
-        workLocation.setAddress(Address.generate(faker));
+        workLocation.setAddress(Address.generate(backend, random));
         workLocation.setWorkLocationName(WorkLocationName.generate(random));
         return workLocation;
     }
@@ -62,6 +62,7 @@ public enum WorkLocationName {
     SANTA_CRUZ_DE_TENERIFE,
     SAN_CRISTOBAL_DE_LA_LAGUNA;
 
+    private static final EnumSampler<WorkLocationName> SAMPLER = EnumSampler.uniform(WorkLocationName.class);
 
     /**
      * @brief This method generates a Work Location
@@ -69,7 +70,7 @@ public enum WorkLocationName {
      * @return work location name
      */
     public static WorkLocationName generate(final Random random) {
-        return WorkLocationName.values()[random.nextInt(WorkLocationName.values().length)];
+        return SAMPLER.sample(random);
     }
 }
 
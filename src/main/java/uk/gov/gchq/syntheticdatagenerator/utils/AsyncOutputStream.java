@@ -0,0 +1,253 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @class Async Output Stream
+ * @brief This class is a buffered output stream which writes its buffers to another stream on a thread of its own
+ * @details The bytes are gathered in fixed size buffers. A full buffer is queued for the writer thread and the
+ * caller carries on filling the next one, so encoding records and writing them to disk overlap. There are never
+ * more than the queue depth plus one buffers, so the caller blocks when the writer falls behind and the memory used
+ * stays bounded. An error of the writer is thrown by the next write, flush or close. Like a buffered stream it is
+ * not meant to be shared between threads.
+ */
+public class AsyncOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final BlockingQueue<Chunk> full;
+    private final BlockingQueue<byte[]> free;
+    private final Thread writer;
+
+    private byte[] buffer;
+    private int count;
+    private boolean closed;
+    private volatile IOException error;
+
+    /**
+     * @brief This method builds the stream and starts its writer thread
+     * @param out stream the buffers are written to, closed when this stream is closed
+     * @param bufferSize size of each buffer in bytes
+     * @param queueDepth number of full buffers which may wait for the writer
+     * @param threadFactory factory creating the writer thread
+     */
+    public AsyncOutputStream(final OutputStream out, final int bufferSize, final int queueDepth,
+                             final ThreadFactory threadFactory) {
+        requireNonNull(out, "out");
+        requireNonNull(threadFactory, "threadFactory");
+        if (bufferSize < 1 || queueDepth < 1) {
+            throw new IllegalArgumentException("bufferSize and queueDepth must both be at least 1");
+        }
+        this.out = out;
+        // a close or flush request may wait behind a full queue
+        this.full = new ArrayBlockingQueue<>(queueDepth + 1);
+        this.free = new ArrayBlockingQueue<>(queueDepth);
+        for (int i = 0; i < queueDepth; i++) {
+            free.add(new byte[bufferSize]);
+        }
+        this.buffer = new byte[bufferSize];
+        this.writer = threadFactory.newThread(this::drain);
+        writer.start();
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (count == buffer.length) {
+            handOver();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (count == buffer.length) {
+                handOver();
+            }
+            int length = Math.min(remaining, buffer.length - count);
+            System.arraycopy(b, offset, buffer, count, length);
+            count += length;
+            offset += length;
+            remaining -= length;
+        }
+    }
+
+    /**
+     * @brief This method writes every byte given so far and flushes the stream they are written to
+     * @throws IOException if the writer failed
+     */
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        handOver();
+        request(false);
+    }
+
+    /**
+     * @brief This method writes every byte given so far, closes the stream they are written to and stops the writer
+     * @throws IOException if the writer failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (null == error) {
+                handOver();
+            }
+        } finally {
+            closed = true;
+            request(true);
+        }
+    }
+
+    /**
+     * @brief This method queues the current buffer for the writer and takes an empty one
+     * @throws IOException if the writer failed
+     */
+    private void handOver() throws IOException {
+        checkOpen();
+        if (count > 0) {
+            try {
+                full.put(new Chunk(buffer, count, null, false));
+                buffer = free.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the writer");
+            }
+            count = 0;
+        }
+    }
+
+    /**
+     * @brief This method asks the writer to flush or close the stream and waits until it has
+     * @param close true to close the stream, false to flush it
+     * @throws IOException if the writer failed
+     */
+    private void request(final boolean close) throws IOException {
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            full.put(new Chunk(null, 0, done, close));
+            done.await();
+            if (close) {
+                writer.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the writer");
+        }
+        if (null != error) {
+            throw failure();
+        }
+    }
+
+    /**
+     * @brief This method checks the stream can still be written to
+     * @throws IOException if it was closed or the writer failed
+     */
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (null != error) {
+            throw failure();
+        }
+    }
+
+    /**
+     * @brief This method writes the queued buffers until the stream is closed
+     * @details After an error the buffers are still taken off the queue, without being written, so the caller never
+     * waits for ever
+     */
+    private void drain() {
+        try {
+            while (true) {
+                Chunk chunk = full.take();
+                if (null != chunk.data) {
+                    if (null == error) {
+                        try {
+                            out.write(chunk.data, 0, chunk.length);
+                        } catch (IOException | RuntimeException e) {
+                            error = asIOException(e);
+                        }
+                    }
+                    free.put(chunk.data);
+                } else {
+                    try {
+                        if (chunk.close) {
+                            out.close();
+                        } else if (null == error) {
+                            out.flush();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        if (null == error) {
+                            error = asIOException(e);
+                        }
+                    }
+                    chunk.done.countDown();
+                    if (chunk.close) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            error = new InterruptedIOException("Writer interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @brief This method wraps the error of the writer, which may be thrown again by later calls
+     * @return a new exception caused by the error of the writer
+     */
+    private IOException failure() {
+        return new IOException(error.getMessage(), error);
+    }
+
+    private static IOException asIOException(final Exception e) {
+        return e instanceof IOException ? (IOException) e : new IOException(e);
+    }
+
+    /**
+     * @class Chunk
+     * @brief This class holds a full buffer, or a request to flush or close the stream
+     */
+    private static final class Chunk {
+        private final byte[] data;
+        private final int length;
+        private final CountDownLatch done;
+        private final boolean close;
+
+        Chunk(final byte[] data, final int length, final CountDownLatch done, final boolean close) {
+            this.data = data;
+            this.length = length;
+            this.done = done;
+            this.close = close;
+        }
+    }
+}
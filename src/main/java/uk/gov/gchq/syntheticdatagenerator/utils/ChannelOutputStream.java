@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * @class Channel Output Stream
+ * @brief This class is a buffered output stream writing to a file through a {@link FileChannel}
+ * @details The bytes are gathered in a direct buffer, which the channel writes without copying it again, and only
+ * written when the buffer is full, so every write to the file is a whole buffer. Direct buffers are slow to
+ * allocate and only freed by the garbage collector, so closed streams hand theirs back to a shared pool for the
+ * next stream to reuse.
+ */
+public class ChannelOutputStream extends OutputStream {
+    // direct buffers kept for reuse, a few more than the files written at once
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final Queue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private long writeCount;
+
+    /**
+     * @brief This method opens a file for writing
+     * @param file the file
+     * @param append true to write at the end of the file rather than replace it
+     * @param bufferSize size of the direct buffer in bytes
+     * @throws IOException if the file can't be opened
+     */
+    public ChannelOutputStream(final File file, final boolean append, final int bufferSize) throws IOException {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1 but was " + bufferSize);
+        }
+        this.channel = append
+                ? FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = borrow(bufferSize);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(remaining, buffer.remaining());
+            buffer.put(b, offset, length);
+            offset += length;
+            remaining -= length;
+        }
+    }
+
+    /**
+     * @brief This method writes the buffered bytes to the file
+     * @details The file is not forced to disk, which is left to the operating system as for a {@link java.io.FileOutputStream}
+     * @throws IOException if the bytes can't be written
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * @brief This method writes the buffered bytes, closes the file and hands the buffer back to the pool
+     * @throws IOException if the bytes can't be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (null == buffer) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            release(buffer);
+            buffer = null;
+            channel.close();
+        }
+    }
+
+    /**
+     * @brief This method returns the number of writes to the channel so far, each one a system call
+     * @return number of writes
+     */
+    public long getWriteCount() {
+        return writeCount;
+    }
+
+    /**
+     * @brief This method writes the buffered bytes to the channel and empties the buffer
+     * @throws IOException if the bytes can't be written
+     */
+    private void drain() throws IOException {
+        if (null == buffer) {
+            throw new IOException("Stream closed");
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+            writeCount++;
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @brief This method takes a direct buffer of a size from the pool, or allocates one
+     * @param size size of the buffer
+     * @return an empty buffer
+     */
+    private static ByteBuffer borrow(final int size) {
+        for (int i = POOL.size(); i > 0; i--) {
+            ByteBuffer pooled = POOL.poll();
+            if (null == pooled) {
+                break;
+            }
+            if (pooled.capacity() == size) {
+                pooled.clear();
+                return pooled;
+            }
+            release(pooled);
+        }
+        return ByteBuffer.allocateDirect(size);
+    }
+
+    /**
+     * @brief This method hands a buffer back to the pool, unless the pool is full
+     * @param buffer the buffer
+     */
+    private static void release(final ByteBuffer buffer) {
+        if (POOL.size() < MAX_POOLED_BUFFERS) {
+            POOL.offer(buffer);
+        }
+    }
+}
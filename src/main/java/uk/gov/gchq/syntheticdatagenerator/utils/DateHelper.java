@@ -16,40 +16,208 @@
 
 package uk.gov.gchq.syntheticdatagenerator.utils;
 
-import java.util.Calendar;
-import java.util.GregorianCalendar;
 import java.util.Random;
 
+/**
+ * @class Date Helper
+ * @brief This class generates dates as primitive epoch days
+ * @details Dates are held as the number of days since 1970-01-01 and converted with integer arithmetic only
+ * (H. Hinnant's civil calendar algorithms), so no calendar object or string is built while generating.
+ * The {@code d/M/yyyy} text is written only when a date is formatted.
+ */
 public final class DateHelper {
-    private static final ThreadLocal<GregorianCalendar> GREGORIAN_CALENDAR = ThreadLocal.withInitial(GregorianCalendar::new);
     private static final int MIN_BIRTH_YEAR = 1900;
     private static final int BIRTH_YEAR_RANGE = 100;
     private static final int MIN_HIRE_AGE = 20;
     private static final int HIRE_YEAR_RANGE = 40;
 
+    private static final int DAYS_PER_ERA = 146_097;
+    private static final int DAYS_0000_TO_1970 = 719_468;
+    private static final int YEAR_SHIFT = 10_000;
+    private static final int MONTH_SHIFT = 100;
+    private static final int FEBRUARY = 2;
+    private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final int MAX_FORMATTED_LENGTH = 10;
+
     private DateHelper() {
     }
 
-    public static String generateDateOfBirth(final Random random) {
-        GregorianCalendar localCalendar = GREGORIAN_CALENDAR.get();
+    /**
+     * @brief This method generates a date of birth
+     * @param random random value
+     * @return date of birth as an epoch day
+     */
+    public static int generateDateOfBirthEpochDay(final Random random) {
         int year = MIN_BIRTH_YEAR + random.nextInt(BIRTH_YEAR_RANGE);
-        localCalendar.set(Calendar.YEAR, year);
-        int dayOfYear = random.nextInt(localCalendar.getActualMaximum(Calendar.DAY_OF_YEAR));
-        localCalendar.set(Calendar.DAY_OF_YEAR, dayOfYear);
-        GREGORIAN_CALENDAR.remove();
-        return localCalendar.get(Calendar.DAY_OF_MONTH) + "/" + (localCalendar.get(Calendar.MONTH) + 1) + "/" + year;
+        int dayOfYear = random.nextInt(lengthOfYear(year));
+        return toEpochDay(year, 1, 1) + dayOfYear;
     }
 
+    /**
+     * @brief This method generates a hire date on the same day and month as the date of birth
+     * @details A birthday on the 29th of February is hired on the 28th in years which are not leap years
+     * @param dateOfBirth date of birth as an epoch day
+     * @param random random value
+     * @return hire date as an epoch day
+     */
+    public static int generateHireDateEpochDay(final int dateOfBirth, final Random random) {
+        int yearMonthDay = toYearMonthDay(dateOfBirth);
+        int month = month(yearMonthDay);
+        int hireYear = year(yearMonthDay) + MIN_HIRE_AGE + random.nextInt(HIRE_YEAR_RANGE);
+        int day = Math.min(dayOfMonth(yearMonthDay), lengthOfMonth(hireYear, month));
+        return toEpochDay(hireYear, month, day);
+    }
+
+    /**
+     * @brief This method generates a date of birth
+     * @param random random value
+     * @return date of birth in d/M/yyyy format
+     */
+    public static String generateDateOfBirth(final Random random) {
+        return format(generateDateOfBirthEpochDay(random));
+    }
+
+    /**
+     * @brief This method generates a hire date on the same day and month as the date of birth
+     * @param dateOfBirthStr date of birth in d/M/yyyy format
+     * @param random random value
+     * @return hire date in d/M/yyyy format
+     */
     public static String generateHireDate(final String dateOfBirthStr, final Random random) {
-        String birthYearStr = dateOfBirthStr.split("\\/")[2];
-        String hireDateStr = dateOfBirthStr.substring(0, dateOfBirthStr.length() - 4);
+        return format(generateHireDateEpochDay(parse(dateOfBirthStr), random));
+    }
+
+    /**
+     * @brief This method converts a date to an epoch day
+     * @param year year
+     * @param month month, from 1 to 12
+     * @param day day of the month, from 1
+     * @return number of days since 1970-01-01
+     */
+    public static int toEpochDay(final int year, final int month, final int day) {
+        int y = month <= FEBRUARY ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > FEBRUARY ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * @brief This method converts an epoch day to a date packed in an int as yyyyMMdd
+     * @param epochDay number of days since 1970-01-01
+     * @return packed date, read with {@link #year(int)}, {@link #month(int)} and {@link #dayOfMonth(int)}
+     */
+    public static int toYearMonthDay(final int epochDay) {
+        int z = epochDay + DAYS_0000_TO_1970;
+        int era = (z >= 0 ? z : z - DAYS_PER_ERA + 1) / DAYS_PER_ERA;
+        int dayOfEra = z - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / (DAYS_PER_ERA - 1)) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= FEBRUARY ? 1 : 0);
+        return year * YEAR_SHIFT + month * MONTH_SHIFT + day;
+    }
 
-        int birthYear = Integer.parseInt(birthYearStr);
-        int hireYear = birthYear + MIN_HIRE_AGE + random.nextInt(HIRE_YEAR_RANGE);
+    /**
+     * @brief This method returns the year of a packed date
+     * @param yearMonthDay date packed as yyyyMMdd
+     * @return year
+     */
+    public static int year(final int yearMonthDay) {
+        return yearMonthDay / YEAR_SHIFT;
+    }
+
+    /**
+     * @brief This method returns the month of a packed date
+     * @param yearMonthDay date packed as yyyyMMdd
+     * @return month, from 1 to 12
+     */
+    public static int month(final int yearMonthDay) {
+        return yearMonthDay / MONTH_SHIFT % MONTH_SHIFT;
+    }
 
-        hireDateStr = hireDateStr + hireYear;
+    /**
+     * @brief This method returns the day of the month of a packed date
+     * @param yearMonthDay date packed as yyyyMMdd
+     * @return day of the month
+     */
+    public static int dayOfMonth(final int yearMonthDay) {
+        return yearMonthDay % MONTH_SHIFT;
+    }
 
-        return hireDateStr;
+    /**
+     * @brief This method checks if a year is a leap year
+     * @param year year
+     * @return true for a leap year
+     */
+    public static boolean isLeapYear(final int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * @brief This method formats an epoch day as d/M/yyyy
+     * @param epochDay number of days since 1970-01-01
+     * @return formatted date
+     */
+    public static String format(final int epochDay) {
+        char[] chars = new char[MAX_FORMATTED_LENGTH];
+        int length = format(epochDay, chars, 0);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * @brief This method writes an epoch day as d/M/yyyy into a char array
+     * @param epochDay number of days since 1970-01-01, for a year from 1000 to 9999
+     * @param chars array written to, with room for 10 characters from the offset
+     * @param offset index of the first character written
+     * @return index after the last character written
+     */
+    public static int format(final int epochDay, final char[] chars, final int offset) {
+        int yearMonthDay = toYearMonthDay(epochDay);
+        int day = dayOfMonth(yearMonthDay);
+        int month = month(yearMonthDay);
+        int position = DigitHelper.writeZeroPadded(day, day < 10 ? 1 : 2, chars, offset);
+        chars[position++] = '/';
+        position = DigitHelper.writeZeroPadded(month, month < 10 ? 1 : 2, chars, position);
+        chars[position++] = '/';
+        return DigitHelper.writeZeroPadded(year(yearMonthDay), 4, chars, position);
+    }
+
+    /**
+     * @brief This method parses a d/M/yyyy date
+     * @param date formatted date
+     * @return number of days since 1970-01-01
+     */
+    public static int parse(final CharSequence date) {
+        int[] parts = new int[3];
+        int part = 0;
+        for (int i = 0; i < date.length(); i++) {
+            char c = date.charAt(i);
+            if (c == '/') {
+                part++;
+                if (part == parts.length) {
+                    throw new IllegalArgumentException("Not a d/M/yyyy date: " + date);
+                }
+            } else if (c >= '0' && c <= '9') {
+                parts[part] = parts[part] * 10 + (c - '0');
+            } else {
+                throw new IllegalArgumentException("Not a d/M/yyyy date: " + date);
+            }
+        }
+        if (part != parts.length - 1) {
+            throw new IllegalArgumentException("Not a d/M/yyyy date: " + date);
+        }
+        return toEpochDay(parts[2], parts[1], parts[0]);
+    }
+
+    private static int lengthOfYear(final int year) {
+        return isLeapYear(year) ? 366 : 365;
+    }
 
+    private static int lengthOfMonth(final int year, final int month) {
+        return month == FEBRUARY && isLeapYear(year) ? DAYS_IN_MONTH[month] + 1 : DAYS_IN_MONTH[month];
     }
 }
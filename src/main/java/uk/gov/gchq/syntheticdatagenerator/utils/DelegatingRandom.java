@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.util.Random;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @class Delegating Random
+ * @brief This class is a {@link Random} that draws every value from another generator, which can be swapped at any time
+ * @details Objects built around a generator, such as a Faker, can be kept and pointed at a new generator rather
+ * than built again. The values are the same as those of the generator it points to, and like that generator it is
+ * not meant to be shared between threads.
+ */
+public class DelegatingRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private Random delegate;
+
+    /**
+     * @brief This method builds a generator drawing from another one
+     * @param delegate generator the values are drawn from
+     */
+    public DelegatingRandom(final Random delegate) {
+        super(0L);
+        setDelegate(delegate);
+    }
+
+    /**
+     * @brief This method returns the generator the values are drawn from
+     * @return current generator
+     */
+    public Random getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @brief This method points this generator at another one
+     * @param delegate generator the values are drawn from from now on
+     */
+    public void setDelegate(final Random delegate) {
+        requireNonNull(delegate, "delegate");
+        this.delegate = delegate;
+    }
+
+    /**
+     * @brief This method resets the generator the values are drawn from
+     * @param seed seed of the generator
+     */
+    @Override
+    public void setSeed(final long seed) {
+        // called by the constructor of Random before there is a delegate
+        if (null != delegate) {
+            delegate.setSeed(seed);
+        }
+    }
+
+    @Override
+    protected int next(final int bits) {
+        return delegate.nextInt() >>> (Integer.SIZE - bits);
+    }
+
+    @Override
+    public void nextBytes(final byte[] bytes) {
+        delegate.nextBytes(bytes);
+    }
+
+    @Override
+    public int nextInt() {
+        return delegate.nextInt();
+    }
+
+    @Override
+    public int nextInt(final int bound) {
+        return delegate.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return delegate.nextLong();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return delegate.nextBoolean();
+    }
+
+    @Override
+    public float nextFloat() {
+        return delegate.nextFloat();
+    }
+
+    @Override
+    public double nextDouble() {
+        return delegate.nextDouble();
+    }
+
+    @Override
+    public double nextGaussian() {
+        return delegate.nextGaussian();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.util.Random;
+
+/**
+ * @class Digit Helper
+ * @brief This class writes fixed width, zero padded numbers straight into char arrays
+ * @details Replaces {@code String.format("%0Nd", ...)}, which builds a format string, boxes the value and runs a
+ * {@link java.util.Formatter} for every number
+ */
+public final class DigitHelper {
+    private static final int MAX_INT_DIGITS = 9;
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000, 1_000_000_000};
+    private static final int MAX_DIGITS = 18;
+
+    private DigitHelper() {
+    }
+
+    /**
+     * @brief This method generates a random number of a fixed number of digits, with leading zeros
+     * @param random random value
+     * @param digits number of digits, at most 18
+     * @return the digits as a string
+     */
+    public static String randomDigits(final Random random, final int digits) {
+        return randomDigits(random, "", digits);
+    }
+
+    /**
+     * @brief This method generates a prefix followed by a random number of a fixed number of digits, with leading zeros
+     * @param random random value
+     * @param prefix characters written before the digits
+     * @param digits number of digits, at most 18
+     * @return the prefix and digits as a string
+     */
+    public static String randomDigits(final Random random, final String prefix, final int digits) {
+        if (digits < 1 || digits > MAX_DIGITS) {
+            throw new IllegalArgumentException("digits must be between 1 and " + MAX_DIGITS + " but was " + digits);
+        }
+        char[] chars = new char[prefix.length() + digits];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        int end = chars.length;
+        if (digits > MAX_INT_DIGITS) {
+            // an int can't hold every value, so draw the low nine digits and the high digits separately
+            writeZeroPadded(random.nextInt(POWERS_OF_TEN[MAX_INT_DIGITS]), MAX_INT_DIGITS, chars, end - MAX_INT_DIGITS);
+            writeZeroPadded(random.nextInt(POWERS_OF_TEN[digits - MAX_INT_DIGITS]), digits - MAX_INT_DIGITS, chars, prefix.length());
+        } else {
+            writeZeroPadded(random.nextInt(POWERS_OF_TEN[digits]), digits, chars, prefix.length());
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @brief This method writes a number into a char array, padded with leading zeros to a fixed width
+     * @details Digits beyond the width are dropped, so the value must be smaller than 10 to the power of the width
+     * @param value non negative value
+     * @param width number of characters to write
+     * @param chars array written to
+     * @param offset index of the first character written
+     * @return index after the last character written
+     */
+    public static int writeZeroPadded(final long value, final int width, final char[] chars, final int offset) {
+        long remaining = value;
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + (remaining % 10));
+            remaining /= 10;
+        }
+        return offset + width;
+    }
+}
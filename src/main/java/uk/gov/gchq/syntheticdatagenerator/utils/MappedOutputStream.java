@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @class Mapped Output Stream
+ * @brief This class is an output stream writing to a file through memory mapped regions
+ * @details The file is grown a fixed size region at a time and each region is mapped into memory, so the bytes are
+ * copied straight into the page cache with no system call per write. Closing the stream cuts the file back to the
+ * bytes written. A region stays mapped until its buffer is garbage collected, so regions should be large.
+ */
+public class MappedOutputStream extends OutputStream {
+    private final FileChannel channel;
+    private final int regionSize;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long mapCount;
+    private boolean closed;
+
+    /**
+     * @brief This method opens a file for writing
+     * @param file the file
+     * @param append true to write at the end of the file rather than replace it
+     * @param regionSize number of bytes mapped at a time
+     * @throws IOException if the file can't be opened or mapped
+     */
+    public MappedOutputStream(final File file, final boolean append, final int regionSize) throws IOException {
+        if (regionSize < 1) {
+            throw new IllegalArgumentException("regionSize must be at least 1 but was " + regionSize);
+        }
+        this.channel = append
+                ? FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.regionSize = regionSize;
+        try {
+            map(append ? channel.size() : 0L);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (!region().hasRemaining()) {
+            map(regionStart + regionSize);
+        }
+        region.put((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!region().hasRemaining()) {
+                map(regionStart + regionSize);
+            }
+            int length = Math.min(remaining, region.remaining());
+            region.put(b, offset, length);
+            offset += length;
+            remaining -= length;
+        }
+    }
+
+    /**
+     * @brief This method does nothing, the bytes written are already in the page cache
+     * @details Like a {@link java.io.FileOutputStream} the file is not forced to disk
+     */
+    @Override
+    public void flush() {
+        // the mapped bytes are already visible to every reader of the file
+    }
+
+    /**
+     * @brief This method cuts the file back to the bytes written and closes it
+     * @throws IOException if the file can't be cut back
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.truncate(regionStart + region.position());
+        } finally {
+            region = null;
+            channel.close();
+        }
+    }
+
+    /**
+     * @brief This method returns the number of regions mapped so far, each one a system call
+     * @return number of regions mapped
+     */
+    public long getMapCount() {
+        return mapCount;
+    }
+
+    /**
+     * @brief This method returns the current region, checking the stream is open
+     * @return the current region
+     * @throws IOException if the stream is closed
+     */
+    private MappedByteBuffer region() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        return region;
+    }
+
+    /**
+     * @brief This method maps the next region, growing the file to its end
+     * @param start position of the region in the file
+     * @throws IOException if the region can't be mapped
+     */
+    private void map(final long start) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, regionSize);
+        regionStart = start;
+        mapCount++;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * @enum Output IO
+ * @brief This enum class lists the ways the bytes of a data file can be written to disk
+ */
+public enum OutputIo {
+    /**
+     * A {@link FileOutputStream}, buffered on the heap by the caller
+     */
+    STREAM {
+        @Override
+        public OutputStream open(final File file, final boolean append, final int bufferSize, final int regionSize)
+                throws IOException {
+            return new FileOutputStream(file, append);
+        }
+    },
+    /**
+     * A {@link java.nio.channels.FileChannel} written a reused direct buffer at a time
+     */
+    CHANNEL {
+        @Override
+        public OutputStream open(final File file, final boolean append, final int bufferSize, final int regionSize)
+                throws IOException {
+            return new ChannelOutputStream(file, append, bufferSize);
+        }
+    },
+    /**
+     * Memory mapped regions of the file, preallocated a region at a time and cut back to size when closed
+     */
+    MMAP {
+        @Override
+        public OutputStream open(final File file, final boolean append, final int bufferSize, final int regionSize)
+                throws IOException {
+            return new MappedOutputStream(file, append, regionSize);
+        }
+    };
+
+    /**
+     * @brief This method opens a file for writing
+     * @param file the file
+     * @param append true to write at the end of the file rather than replace it
+     * @param bufferSize size of the buffer in bytes, for the channel
+     * @param regionSize number of bytes mapped at a time, for memory mapping
+     * @return the output stream
+     * @throws IOException if the file can't be opened
+     */
+    public abstract OutputStream open(File file, boolean append, int bufferSize, int regionSize) throws IOException;
+
+    /**
+     * @brief This method checks if the streams opened are buffered already, so need no buffer in front of them
+     * @return true unless the bytes go straight to a {@link FileOutputStream}
+     */
+    public boolean isBuffered() {
+        return this != STREAM;
+    }
+
+    /**
+     * @brief This method finds a way of writing by its name, ignoring case
+     * @param name name of the way of writing
+     * @return the way of writing
+     */
+    public static OutputIo fromName(final String name) {
+        return OutputIo.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
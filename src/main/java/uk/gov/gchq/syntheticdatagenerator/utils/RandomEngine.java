@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @enum Random Engine
+ * @brief This enum class lists the random number generators the data can be generated with
+ * @details Every engine gives the same values for the same seed, so a seeded run always produces the same files
+ */
+public enum RandomEngine {
+    /**
+     * xoshiro256** generator, the fastest engine
+     */
+    XOSHIRO {
+        @Override
+        public Random create(final long seed) {
+            return new Xoshiro256Random(seed);
+        }
+    },
+    /**
+     * The JDK's {@link java.util.SplittableRandom}
+     */
+    SPLITTABLE {
+        @Override
+        public Random create(final long seed) {
+            return new SplittableRandomAdapter(seed);
+        }
+    },
+    /**
+     * A SHA1PRNG {@link SecureRandom}, much slower and synchronized, only needed when a cryptographic generator is required
+     */
+    SECURE {
+        @Override
+        public Random create(final long seed) {
+            try {
+                // Seeded before first use, SHA1PRNG always returns the same sequence for the same seed
+                SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+                random.setSeed(seed);
+                return random;
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA1PRNG is not available", e);
+            }
+        }
+    };
+
+    /**
+     * @brief This method creates a generator from a seed
+     * @param seed seed of the generator
+     * @return the generator
+     */
+    public abstract Random create(long seed);
+
+    /**
+     * @brief This method creates the generator of a single record from the seed of its file and its index
+     * @details Records which each draw from their own generator can be generated alone, in any order
+     * @param seed seed of the file
+     * @param index index of the record in the file
+     * @return the generator of the record
+     */
+    public Random createAt(final long seed, final long index) {
+        return create(SeedHelper.derive(seed, index));
+    }
+
+    /**
+     * @brief This method finds an engine by its name, ignoring case
+     * @param name name of the engine
+     * @return the engine
+     */
+    public static RandomEngine fromName(final String name) {
+        return RandomEngine.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
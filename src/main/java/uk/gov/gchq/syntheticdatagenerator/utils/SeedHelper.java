@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+/**
+ * @class Seed Helper
+ * @brief This class derives independent, reproducible seeds from a parent seed
+ * @details Uses the SplitMix64 finaliser so that neighbouring inputs (file 0, file 1, ...) give unrelated seeds
+ */
+public final class SeedHelper {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int SYNC_MARKER_LENGTH = 16;
+
+    private SeedHelper() {
+    }
+
+    /**
+     * @brief This method scrambles the bits of a value
+     * @param value value to scramble
+     * @return scrambled value
+     */
+    public static long mix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @brief This method derives the seed of a sub-stream from its parent seed
+     * @param seed parent seed
+     * @param stream index of the sub-stream
+     * @return seed of the sub-stream
+     */
+    public static long derive(final long seed, final long stream) {
+        return mix(mix(seed) + (stream + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * @brief This method builds a reproducible Avro sync marker from a seed
+     * @param seed seed of the file
+     * @return 16 byte sync marker
+     */
+    public static byte[] syncMarker(final long seed) {
+        byte[] marker = new byte[SYNC_MARKER_LENGTH];
+        long high = derive(seed, -2);
+        long low = derive(seed, -3);
+        for (int i = 0; i < Long.BYTES; i++) {
+            marker[i] = (byte) (high >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+            marker[i + Long.BYTES] = (byte) (low >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+        }
+        return marker;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * @class Splittable Random Adapter
+ * @brief This class lets a {@link SplittableRandom} be used wherever a {@link Random} is expected
+ * @details Like the {@link SplittableRandom} it wraps, it is not thread safe
+ */
+public class SplittableRandomAdapter extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private SplittableRandom delegate;
+
+    /**
+     * @brief This method builds a generator from a seed
+     * @param seed seed of the generator
+     */
+    public SplittableRandomAdapter(final long seed) {
+        super(seed);
+        setSeed(seed);
+    }
+
+    private SplittableRandomAdapter(final SplittableRandom delegate) {
+        super(0L);
+        this.delegate = delegate;
+    }
+
+    /**
+     * @brief This method resets the generator from a seed
+     * @param seed seed of the generator
+     */
+    @Override
+    public void setSeed(final long seed) {
+        delegate = new SplittableRandom(seed);
+    }
+
+    /**
+     * @brief This method creates a new generator whose values are independent of this one
+     * @return the new generator
+     */
+    public SplittableRandomAdapter split() {
+        return new SplittableRandomAdapter(delegate.split());
+    }
+
+    @Override
+    protected int next(final int bits) {
+        return delegate.nextInt() >>> (Integer.SIZE - bits);
+    }
+
+    @Override
+    public int nextInt() {
+        return delegate.nextInt();
+    }
+
+    @Override
+    public int nextInt(final int bound) {
+        return delegate.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return delegate.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return delegate.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return delegate.nextBoolean();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * @class Virtual Threads
+ * @brief This class gives access to the virtual threads of Java 21 and later while the generator is built for Java 8
+ * @details The methods are looked up by reflection once. On older Java versions there are no virtual threads:
+ * {@link #isSupported()} is false and no thread is ever virtual.
+ */
+public final class VirtualThreads {
+    private static final Method IS_VIRTUAL = lookUp(Thread.class, "isVirtual");
+    private static final Method OF_VIRTUAL = lookUp(Thread.class, "ofVirtual");
+    private static final Method NAME = lookUp(builderClass(), "name", String.class, long.class);
+    private static final Method FACTORY = lookUp(builderClass(), "factory");
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @brief This method checks if the running Java version has virtual threads
+     * @return true from Java 21
+     */
+    public static boolean isSupported() {
+        return null != IS_VIRTUAL && null != OF_VIRTUAL && null != NAME && null != FACTORY;
+    }
+
+    /**
+     * @brief This method checks if a thread is a virtual thread
+     * @param thread the thread
+     * @return true if it is virtual
+     */
+    public static boolean isVirtual(final Thread thread) {
+        if (null == IS_VIRTUAL) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_VIRTUAL.invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @brief This method creates a factory of virtual threads
+     * @param prefix name of the threads, followed by their number
+     * @return factory creating a new virtual thread for every task
+     * @throws UnsupportedOperationException if the running Java version has no virtual threads
+     */
+    public static ThreadFactory factory(final String prefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or later, this is Java "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Failed to create a virtual thread factory", e);
+        }
+    }
+
+    private static Class<?> builderClass() {
+        try {
+            return Class.forName("java.lang.Thread$Builder");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method lookUp(final Class<?> type, final String name, final Class<?>... parameters) {
+        if (null == type) {
+            return null;
+        }
+        try {
+            return type.getMethod(name, parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
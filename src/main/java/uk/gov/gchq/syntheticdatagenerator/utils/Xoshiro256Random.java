@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator.utils;
+
+import java.util.Random;
+
+/**
+ * @class Xoshiro256 Random
+ * @brief This class is a xoshiro256** random number generator usable wherever a {@link Random} is expected
+ * @details Unlike {@link Random} it holds its state in plain fields, so it is not thread safe but costs no
+ * atomic operation per value. The 256 bits of state are expanded from the seed with SplitMix64.
+ */
+public class Xoshiro256Random extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    /**
+     * @brief This method builds a generator from a seed
+     * @param seed seed of the generator
+     */
+    public Xoshiro256Random(final long seed) {
+        super(seed);
+        setSeed(seed);
+    }
+
+    /**
+     * @brief This method resets the state of the generator from a seed
+     * @param seed seed of the generator
+     */
+    @Override
+    public void setSeed(final long seed) {
+        long x = seed;
+        x += GOLDEN_GAMMA;
+        s0 = SeedHelper.mix(x);
+        x += GOLDEN_GAMMA;
+        s1 = SeedHelper.mix(x);
+        x += GOLDEN_GAMMA;
+        s2 = SeedHelper.mix(x);
+        x += GOLDEN_GAMMA;
+        s3 = SeedHelper.mix(x);
+    }
+
+    /**
+     * @brief This method returns the next 64 random bits
+     * @return random long
+     */
+    @Override
+    public long nextLong() {
+        final long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        final long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    @Override
+    protected int next(final int bits) {
+        return (int) (nextLong() >>> (Long.SIZE - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> Integer.SIZE);
+    }
+
+    /**
+     * @brief This method returns a uniformly distributed int between 0 (inclusive) and bound (exclusive)
+     * @details Uses Lemire's multiply and reject method, which needs no division in the common case
+     * @param bound upper bound, must be positive
+     * @return random int
+     */
+    @Override
+    public int nextInt(final int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long m = (nextLong() >>> Integer.SIZE) * bound;
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            final long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> Integer.SIZE) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >>> Integer.SIZE);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> (Long.SIZE - 53)) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.utils.AsyncOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @brief Async output stream test
+ */
+public class AsyncOutputStreamTest {
+
+    /**
+     * @brief This test evaluates whether every byte reaches the underlying stream in order, whatever the write sizes
+     * @throws IOException if the stream fails
+     */
+    @Test
+    public void writesEveryByteInOrder() throws IOException {
+        Random random = new Random(1L);
+        byte[] expected = new byte[100_000];
+        random.nextBytes(expected);
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        try (OutputStream out = new AsyncOutputStream(target, 1_000, 2, CreateData.createDaemonThreadFactory())) {
+            int position = 0;
+            while (position < expected.length) {
+                int length = Math.min(expected.length - position, random.nextInt(3_000));
+                if (length == 1) {
+                    out.write(expected[position]);
+                } else {
+                    out.write(expected, position, length);
+                }
+                position += length;
+            }
+            out.flush();
+            assertEquals(expected.length, target.size());
+        }
+        assertArrayEquals(expected, target.toByteArray());
+    }
+
+    /**
+     * @brief This test evaluates whether an error of the writer thread is thrown to the caller
+     */
+    @Test
+    public void writerErrorIsThrown() {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        try (OutputStream out = new AsyncOutputStream(failing, 10, 1, CreateData.createDaemonThreadFactory())) {
+            for (int i = 0; i < 1_000; i++) {
+                out.write(i);
+            }
+            out.flush();
+            fail("The error of the writer was not thrown");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("disk full"));
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether a file written by a pipeline is the same as one written by as many workers
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void pipelineMatchesWorkers() throws IOException {
+        File directory = new File("target/pipeline-test");
+        try {
+            CreateData.main(directory + "/workers", "300", "1", "1", "1", "e", "--data-backend=native", "--workers-per-file=2");
+            CreateData.main(directory + "/pipeline", "300", "1", "1", "1", "e", "--data-backend=native", "--workers-per-file=2",
+                    "--pipeline", "--batch-size=1000", "--queue-depth=2", "--buffer-size=512");
+            assertArrayEquals(FileUtils.readFileToByteArray(new File(directory, "workers/worker_e0.json")),
+                    FileUtils.readFileToByteArray(new File(directory, "pipeline/worker_e0.json")));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+}
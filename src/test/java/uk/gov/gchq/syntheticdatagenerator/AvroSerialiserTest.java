@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.AvroSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.DataBackend;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+import uk.gov.gchq.syntheticdatagenerator.utils.Xoshiro256Random;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Avro serialiser test
+ */
+public class AvroSerialiserTest {
+    private final AvroSerialiser<Employee> serialiser = new AvroSerialiser<>(Employee.class, SeedHelper.syncMarker(0L),
+            CodecFactory.nullCodec(), 4_096);
+
+    /**
+     * @brief This test evaluates whether a file cut off half way through a block is truncated after its last complete
+     * block, and whether appending the remaining records gives the file of an uninterrupted run
+     * @throws IOException if the files can't be written
+     */
+    @Test
+    public void recoverTruncatesAndAppendResumes() throws IOException {
+        File directory = new File("target/avro-recover-test");
+        File whole = new File(directory, "whole.avro");
+        File cut = new File(directory, "cut.avro");
+        try {
+            FileUtils.forceMkdir(directory);
+            Random random = new Xoshiro256Random(3L);
+            List<Employee> employees = Stream.generate(() -> Employee.generate(random, DataBackend.NATIVE)).limit(500)
+                    .collect(Collectors.toList());
+            try (OutputStream out = new FileOutputStream(whole)) {
+                serialiser.serialise(employees.stream(), out);
+            }
+            byte[] complete = FileUtils.readFileToByteArray(whole);
+            // cut one byte past the middle block start, so inside a block
+            List<long[]> blocks = blockStarts(whole);
+            assertTrue(blocks.size() > 3);
+            long[] kept = blocks.get(blocks.size() / 2);
+            FileUtils.writeByteArrayToFile(cut, Arrays.copyOf(complete, (int) kept[0] + 1));
+
+            assertEquals(kept[1], AvroSerialiser.recover(cut));
+            assertEquals(kept[0], cut.length());
+
+            try (OutputStream out = new FileOutputStream(cut, true)) {
+                serialiser.append(employees.stream().skip(kept[1]), cut, out);
+            }
+            assertEquals(toStrings(employees.stream()), toStrings(read(cut)));
+            assertArrayEquals(complete, FileUtils.readFileToByteArray(cut));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether a file cut off inside its header can't be recovered
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public void recoverNeedsTheHeader() throws IOException {
+        File file = new File("target/avro-header-test.avro");
+        try {
+            try (OutputStream out = new FileOutputStream(file)) {
+                serialiser.serialise(Stream.of(Employee.generate(new Xoshiro256Random(1L), DataBackend.NATIVE)), out);
+            }
+            byte[] complete = FileUtils.readFileToByteArray(file);
+            FileUtils.writeByteArrayToFile(file, Arrays.copyOf(complete, 20));
+            assertEquals(-1L, AvroSerialiser.recover(file));
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    /**
+     * @brief This method lists the position of every block of an Avro file with the number of records before it
+     * @param file the Avro file
+     * @return pairs of position and records
+     * @throws IOException if the file can't be read
+     */
+    private static List<long[]> blockStarts(final File file) throws IOException {
+        List<long[]> blocks = new ArrayList<>();
+        try (DataFileReader<Object> reader = new DataFileReader<>(file, new GenericDatumReader<>())) {
+            long records = 0;
+            while (reader.hasNext()) {
+                long start = reader.previousSync();
+                if (blocks.isEmpty() || blocks.get(blocks.size() - 1)[0] != start) {
+                    blocks.add(new long[]{start, records});
+                }
+                reader.next();
+                records++;
+            }
+        }
+        return blocks;
+    }
+
+    private Stream<Employee> read(final File file) throws IOException {
+        InputStream input = new FileInputStream(file);
+        return serialiser.deserialise(input).onClose(() -> {
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static List<String> toStrings(final Stream<Employee> employees) {
+        try (Stream<Employee> stream = employees) {
+            return stream.map(Employee::toString).collect(Collectors.toList());
+        }
+    }
+}
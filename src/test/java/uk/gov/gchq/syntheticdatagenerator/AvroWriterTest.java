@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.reflect.ReflectData;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.AvroSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.AvroWriter;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Teacher;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+import uk.gov.gchq.syntheticdatagenerator.utils.Xoshiro256Random;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @brief Avro writer test
+ */
+public class AvroWriterTest {
+    private static final int RECORDS = 200;
+
+    /**
+     * @brief This test evaluates whether the schema files match the schemas Avro builds by reflection
+     */
+    @Test
+    public void schemaFilesMatchReflectedSchemas() {
+        assertEquals(ReflectData.AllowNull.get().getSchema(Employee.class), AvroWriter.schemaOf(Employee.class));
+        assertEquals(ReflectData.AllowNull.get().getSchema(Teacher.class), AvroWriter.schemaOf(Teacher.class));
+    }
+
+    /**
+     * @brief This test evaluates whether the direct writer gives the same bytes as the reflect writer
+     * @throws IOException if the records can't be serialised
+     */
+    @Test
+    public void directWriterMatchesReflectWriter() throws IOException {
+        assertArrayEquals(serialise(Employee.class, Employee::generate, AvroWriter.REFLECT),
+                serialise(Employee.class, Employee::generate, AvroWriter.DIRECT));
+        assertArrayEquals(serialise(Teacher.class, Teacher::generate, AvroWriter.REFLECT),
+                serialise(Teacher.class, Teacher::generate, AvroWriter.DIRECT));
+    }
+
+    /**
+     * @brief This test evaluates whether records written by the direct writer are read back unchanged
+     * @throws IOException if the records can't be serialised
+     */
+    @Test
+    public void directWriterRoundTrips() throws IOException {
+        AvroSerialiser<Employee> serialiser = createSerialiser(Employee.class, AvroWriter.DIRECT);
+        byte[] bytes = serialise(Employee.class, Employee::generate, AvroWriter.DIRECT);
+        List<String> expected = generate(Employee::generate).map(Employee::toString).collect(Collectors.toList());
+        try (Stream<Employee> records = serialiser.deserialise(new ByteArrayInputStream(bytes))) {
+            assertEquals(expected, records.map(Employee::toString).collect(Collectors.toList()));
+        }
+    }
+
+    private static <T> byte[] serialise(final Class<T> domainClass, final Function<Random, T> generator, final AvroWriter writer)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        createSerialiser(domainClass, writer).serialise(generate(generator), out);
+        return out.toByteArray();
+    }
+
+    private static <T> AvroSerialiser<T> createSerialiser(final Class<T> domainClass, final AvroWriter writer) {
+        return new AvroSerialiser<>(domainClass, SeedHelper.syncMarker(1L), CodecFactory.nullCodec(),
+                DataFileConstants.DEFAULT_SYNC_INTERVAL, writer);
+    }
+
+    private static <T> Stream<T> generate(final Function<Random, T> generator) {
+        Random random = new Xoshiro256Random(7L);
+        return Stream.generate(() -> generator.apply(random)).limit(RECORDS);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @brief Chunk scheduler test
+ */
+public class ChunkSchedulerTest {
+
+    /**
+     * @brief This test evaluates whether chunked records are those of their own seed and index, in order
+     */
+    @Test
+    public void chunksAreInOrder() {
+        try (ChunkScheduler scheduler = new ChunkScheduler(3, 7, 2)) {
+            List<Long> records;
+            try (Stream<Long> stream = scheduler.stream(Random::nextLong, 5, 100, 42L, Random::new)) {
+                records = stream.collect(Collectors.toList());
+            }
+            assertEquals(95, records.size());
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals(new Random(SeedHelper.derive(42L, 5 + i)).nextLong(), (long) records.get(i));
+            }
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether a chunked run holds exactly the records asked for, the same as a seekable run
+     * and as a run on virtual threads
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void chunkedRunMatchesSeekableRun() throws IOException {
+        File directory = new File("target/chunk-test");
+        try {
+            CreateData.main(directory + "/seekable", "1003", "4", "1", "0", "e", "--data-backend=native",
+                    "--output-format=csv", "--seekable");
+            CreateData.main(directory + "/chunked", "1003", "4", "2", "0", "e", "--data-backend=native",
+                    "--output-format=csv", "--chunk-size=37", "--generator-threads=3", "--queue-depth=2");
+            // platform threads stand in for virtual threads on Java versions without them
+            CreateData.main(directory + "/virtual", "1003", "4", "4", "0", "e", "--data-backend=native",
+                    "--output-format=csv", "--virtual-threads", "--generator-threads=2");
+            Manifest manifest = Manifest.read(new File(directory, "chunked/manifest.json"));
+            assertEquals(1003L, manifest.getFiles().stream().mapToLong(Manifest.DataFile::getRecords).sum());
+            for (Manifest.DataFile file : manifest.getFiles()) {
+                byte[] seekable = FileUtils.readFileToByteArray(new File(directory, "seekable/" + file.getName()));
+                assertArrayEquals(seekable, FileUtils.readFileToByteArray(new File(directory, "chunked/" + file.getName())));
+                assertArrayEquals(seekable, FileUtils.readFileToByteArray(new File(directory, "virtual/" + file.getName())));
+                // the header and one line per record
+                assertEquals(file.getRecords() + 1,
+                        FileUtils.readLines(new File(directory, "chunked/" + file.getName()), "UTF-8").size());
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @brief Create data test
+ */
+public class CreateDataTest {
+
+    /**
+     * @brief This test evaluates whether a run with fewer employees than files writes exactly the employees asked for,
+     * leaving the last files empty
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void fewerEmployeesThanFiles() throws IOException {
+        File directory = new File("target/create-data-test");
+        try {
+            CreateData.main(directory.getPath(), "3", "5", "1", "1", "e", "--data-backend=native");
+            Manifest manifest = Manifest.read(new File(directory, "manifest.json"));
+            assertEquals(5, manifest.getFiles().size());
+            long total = 0;
+            for (int i = 0; i < 5; i++) {
+                Manifest.DataFile file = manifest.getFiles().get(i);
+                long records = read(new File(directory, file.getName())).size();
+                assertEquals(i < 3 ? 1L : 0L, records);
+                assertEquals(records, file.getRecords());
+                assertEquals(Math.min(i, 3), file.getFirstRecord());
+                total += records;
+            }
+            assertEquals(3L, total);
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether global identifiers are unique across the files of a run, whatever the split
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void globalIdsAreUniqueAcrossFiles() throws IOException {
+        File directory = new File("target/create-data-ids-test");
+        try {
+            for (String ids : new String[]{"sequential", "permuted"}) {
+                for (int[] split : new int[][]{{7, 10}, {23, 4}}) {
+                    FileUtils.deleteQuietly(directory);
+                    CreateData.main(directory.getPath(), String.valueOf(split[0]), String.valueOf(split[1]), "1", "1", "e",
+                            "--data-backend=native", "--ids=" + ids);
+                    Set<String> uids = new HashSet<>();
+                    for (int i = 0; i < split[1]; i++) {
+                        for (JsonNode record : read(new File(directory, "worker_e" + i + ".json"))) {
+                            uids.add(record.get("uid").asText());
+                        }
+                    }
+                    assertEquals(ids + " " + split[0] + "/" + split[1], split[0], uids.size());
+                }
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private static JsonNode read(final File file) throws IOException {
+        return new ObjectMapper().readTree(file);
+    }
+}
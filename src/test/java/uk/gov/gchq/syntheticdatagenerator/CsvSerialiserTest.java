@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.CsvSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Teacher;
+import uk.gov.gchq.syntheticdatagenerator.utils.Xoshiro256Random;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @brief CSV serialiser test
+ */
+public class CsvSerialiserTest {
+
+    /**
+     * @brief This test evaluates whether every row has one field per column and fields holding commas or quotes are escaped
+     * @throws IOException if the records can't be serialised
+     */
+    @Test
+    public void rowsMatchHeaderAndFieldsAreEscaped() throws IOException {
+        Random random = new Xoshiro256Random(5L);
+        Employee employee = Employee.generate(random);
+        employee.setName("Smith, \"Jo\"");
+        CsvSerialiser<Employee> serialiser = new CsvSerialiser<>(Employee.class, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialiser.serialise(Stream.concat(Stream.of(employee), Stream.generate(() -> Employee.generate(random)).limit(9)), out);
+
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(11, lines.length);
+        assertEquals(String.join(",", serialiser.getHeaders()), lines[0]);
+        for (int i = 1; i < lines.length; i++) {
+            assertEquals(serialiser.getHeaders().size(), split(lines[i]).size());
+        }
+        List<String> first = split(lines[1]);
+        assertEquals("Smith, \"Jo\"", first.get(serialiser.getHeaders().indexOf("name")));
+        assertEquals(employee.getAddress().getCity(), first.get(serialiser.getHeaders().indexOf("addressCity")));
+        assertEquals(String.valueOf(employee.getSalaryAmount()), first.get(serialiser.getHeaders().indexOf("salaryAmount")));
+    }
+
+    /**
+     * @brief This test evaluates whether CreateData writes gzip compressed CSV files
+     * @throws IOException if the file can't be read
+     */
+    @Test
+    public void createDataWritesGzipCsv() throws IOException {
+        File directory = new File("target/csv-test");
+        try {
+            CreateData.main(directory.getPath(), "25", "1", "1", "0", "t", "--output-format=csv", "--gzip");
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(new File(directory, "worker_t0.csv.gz").toPath()))) {
+                List<String> lines = IOUtils.readLines(in, StandardCharsets.UTF_8);
+                assertEquals(26, lines.size());
+                assertEquals(String.join(",", new CsvSerialiser<>(Teacher.class).getHeaders()), lines.get(0));
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * @brief This method splits a CSV row into its fields
+     * @param line CSV row
+     * @return unescaped fields
+     */
+    private static List<String> split(final String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.AvroSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.utils.DateHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @brief Date helper test
+ */
+public class DateHelperTest {
+
+    /**
+     * @brief This test evaluates whether the epoch day arithmetic agrees with java.time
+     */
+    @Test
+    public void epochDaysMatchJavaTime() {
+        for (int epochDay = -30_000; epochDay < 30_000; epochDay++) {
+            LocalDate expected = LocalDate.ofEpochDay(epochDay);
+            int yearMonthDay = DateHelper.toYearMonthDay(epochDay);
+            assertEquals(expected.getYear(), DateHelper.year(yearMonthDay));
+            assertEquals(expected.getMonthValue(), DateHelper.month(yearMonthDay));
+            assertEquals(expected.getDayOfMonth(), DateHelper.dayOfMonth(yearMonthDay));
+            assertEquals(epochDay, DateHelper.toEpochDay(expected.getYear(), expected.getMonthValue(), expected.getDayOfMonth()));
+            String formatted = expected.getDayOfMonth() + "/" + expected.getMonthValue() + "/" + expected.getYear();
+            assertEquals(formatted, DateHelper.format(epochDay));
+            assertEquals(epochDay, DateHelper.parse(formatted));
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether the hire date keeps the day and month of the date of birth
+     */
+    @Test
+    public void hireDateKeepsBirthday() {
+        Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate birth = LocalDate.ofEpochDay(DateHelper.generateDateOfBirthEpochDay(random));
+            LocalDate hire = LocalDate.ofEpochDay(DateHelper.generateHireDateEpochDay((int) birth.toEpochDay(), random));
+            assertEquals(birth.getMonth(), hire.getMonth());
+            if (birth.getMonthValue() != 2 || birth.getDayOfMonth() != 29) {
+                assertEquals(birth.getDayOfMonth(), hire.getDayOfMonth());
+            }
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether dates are written to Avro as strings and read back
+     * @throws IOException if the Avro data can't be written or read
+     */
+    @Test
+    public void datesRoundTripThroughAvro() throws IOException {
+        Random random = new Random(0);
+        List<Employee> employees = Stream.generate(() -> Employee.generate(random)).limit(5).collect(Collectors.toList());
+        AvroSerialiser<Employee> serialiser = new AvroSerialiser<>(Employee.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialiser.serialise(employees.stream(), out);
+        List<Employee> read = serialiser.deserialise(new ByteArrayInputStream(out.toByteArray())).collect(Collectors.toList());
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(employees.get(i).getDateOfBirth(), read.get(i).getDateOfBirth());
+            assertEquals(employees.get(i).getHireDate(), read.get(i).getHireDate());
+        }
+    }
+}
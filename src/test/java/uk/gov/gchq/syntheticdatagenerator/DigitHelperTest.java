@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.types.PhoneNumber;
+import uk.gov.gchq.syntheticdatagenerator.utils.DigitHelper;
+import uk.gov.gchq.syntheticdatagenerator.utils.Xoshiro256Random;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Digit helper test
+ */
+public class DigitHelperTest {
+
+    /**
+     * @brief This test evaluates whether numbers are padded with leading zeros to the width asked for
+     */
+    @Test
+    public void writesZeroPadded() {
+        assertEquals("0007", padded(7L, 4));
+        assertEquals("000", padded(0L, 3));
+        assertEquals("1234", padded(1234L, 4));
+        assertEquals("9", padded(9L, 1));
+        assertEquals("999999999999999999", padded(999_999_999_999_999_999L, 18));
+        assertEquals("000000000100000000", padded(100_000_000L, 18));
+
+        char[] chars = "ab----cd".toCharArray();
+        assertEquals(6, DigitHelper.writeZeroPadded(42L, 4, chars, 2));
+        assertEquals("ab0042cd", new String(chars));
+    }
+
+    /**
+     * @brief This test evaluates whether random digits match String.format of the same draws, for every width
+     */
+    @Test
+    public void randomDigitsMatchStringFormat() {
+        for (int digits = 1; digits <= 18; digits++) {
+            Random random = new Xoshiro256Random(digits);
+            Random expected = new Xoshiro256Random(digits);
+            for (int i = 0; i < 1_000; i++) {
+                String value = DigitHelper.randomDigits(random, "x", digits);
+                String format;
+                if (digits > 9) {
+                    int low = expected.nextInt(1_000_000_000);
+                    int high = expected.nextInt((int) Math.pow(10, digits - 9));
+                    format = String.format("x%0" + (digits - 9) + "d%09d", high, low);
+                } else {
+                    format = String.format("x%0" + digits + "d", expected.nextInt((int) Math.pow(10, digits)));
+                }
+                assertEquals(format, value);
+            }
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether phone numbers are a leading zero followed by 10 digits, leading zeros kept
+     */
+    @Test
+    public void phoneNumbersHaveTenDigits() {
+        Random random = new Xoshiro256Random(3L);
+        boolean paddedZero = false;
+        for (int i = 0; i < 10_000; i++) {
+            String number = PhoneNumber.generate(random).getPhoneNumber();
+            assertEquals(11, number.length());
+            assertTrue(number, number.matches("0[0-9]{10}"));
+            paddedZero |= number.charAt(1) == '0';
+        }
+        assertTrue(paddedZero);
+    }
+
+    /**
+     * @brief This test evaluates whether widths outside 1 to 18 digits are refused
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesTooManyDigits() {
+        DigitHelper.randomDigits(new Random(1L), 19);
+    }
+
+    private static String padded(final long value, final int width) {
+        char[] chars = new char[width];
+        DigitHelper.writeZeroPadded(value, width, chars, 0);
+        return new String(chars);
+    }
+}
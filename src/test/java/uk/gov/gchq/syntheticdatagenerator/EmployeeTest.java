@@ -18,11 +18,21 @@ package uk.gov.gchq.syntheticdatagenerator;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.CsvSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.DataBackend;
 import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Random;
+import java.util.stream.Stream;
 
 /**
  * @brief Employee test
@@ -43,6 +53,28 @@ public class EmployeeTest {
         System.out.println("Took " + (endTime - startTime) + "ms to create 100 employees");
     }
 
+    /**
+     * @brief This test evaluates whether a record generated on its own is the one written at its index of a seekable file
+     * @throws IOException if the file can't be read
+     */
+    @Test
+    public void generateAtMatchesSeekableFile() throws IOException {
+        File directory = new File("target/seekable-test");
+        try {
+            CreateData.main(directory.getPath(), "200", "2", "2", "0", "e", "--seekable", "--seed=7",
+                    "--workers-per-file=3", "--data-backend=native", "--output-format=csv");
+            List<String> lines = FileUtils.readLines(new File(directory, "worker_e1.csv"), StandardCharsets.UTF_8);
+            long fileSeed = SeedHelper.derive(7L, 1);
+            Employee employee = Employee.generateAt(fileSeed, 42, RandomEngine.XOSHIRO, DataBackend.NATIVE);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new CsvSerialiser<>(Employee.class).serialise(Stream.of(employee), out);
+            // line 0 is the header
+            assertEquals(out.toString("UTF-8").split("\r?\n")[1], lines.get(43));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
     /**
      * This test evaluates whether the data is correctly generated
      */
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.types.EnumSampler;
+import uk.gov.gchq.syntheticdatagenerator.types.Sex;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Enum sampler test
+ */
+public class EnumSamplerTest {
+
+    /**
+     * @brief This test evaluates whether constants are picked in proportion to their weights
+     */
+    @Test
+    public void weightedSamplingFollowsWeights() {
+        EnumSampler<Sex> sampler = EnumSampler.weighted(Sex.class, 0, 3, 1, 0);
+        Map<Sex, Integer> counts = new EnumMap<>(Sex.class);
+        Random random = new Random(0);
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(sampler.sample(random), 1, Integer::sum);
+        }
+        assertFalse(counts.containsKey(Sex.NOT_KNOWN));
+        assertFalse(counts.containsKey(Sex.NOT_SPECIFIED));
+        double ratio = counts.get(Sex.MALE) / (double) counts.get(Sex.FEMALE);
+        assertTrue("ratio was " + ratio, ratio > 2.8 && ratio < 3.2);
+    }
+
+    /**
+     * @brief This test evaluates whether uniform sampling draws the same values as indexing values()
+     */
+    @Test
+    public void uniformSamplingMatchesValues() {
+        EnumSampler<Sex> sampler = EnumSampler.uniform(Sex.class);
+        Random first = new Random(1);
+        Random second = new Random(1);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(Sex.values()[second.nextInt(Sex.values().length)], sampler.sample(first));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.JSONSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.IdScheme;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Id scheme test
+ */
+public class IdSchemeTest {
+
+    /**
+     * @brief This test evaluates whether permuted identifiers are never repeated nor negative
+     */
+    @Test
+    public void permutedIdsAreUnique() {
+        Set<Long> ids = new HashSet<>();
+        for (long record = 0; record < 200_000; record++) {
+            long id = IdScheme.PERMUTED.getDerivation().id(record, 0x1234L);
+            assertTrue(id >= 0);
+            assertTrue(ids.add(id));
+        }
+        // the values next to the top of the range wrap around without colliding either
+        assertTrue(ids.add(IdScheme.PERMUTED.getDerivation().id(Long.MAX_VALUE, 0x1234L)));
+    }
+
+    /**
+     * @brief This test evaluates whether only the schemes that derive identifiers from the record index expose a
+     * derivation
+     */
+    @Test
+    public void onlyDerivedSchemesHaveDerivation() {
+        assertFalse(IdScheme.RANDOM.isDerived());
+        assertNull(IdScheme.RANDOM.getDerivation());
+        assertTrue(IdScheme.SEQUENTIAL.isDerived());
+        assertEquals(42L, IdScheme.SEQUENTIAL.getDerivation().id(42L, 7L));
+        assertTrue(IdScheme.PERMUTED.isDerived());
+    }
+
+    /**
+     * @brief This test evaluates whether records of different files get different numeric ids and no uid
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void filesShareOneIdSpace() throws IOException {
+        File directory = new File("target/id-test");
+        try {
+            CreateData.main(directory.getPath(), "100", "2", "2", "1", "e", "--ids=permuted", "--id-field=long",
+                    "--data-backend=native");
+            Set<Long> ids = new HashSet<>();
+            for (int i = 0; i < 2; i++) {
+                try (InputStream in = Files.newInputStream(new File(directory, "worker_e" + i + ".json").toPath());
+                     Stream<Employee> records = new JSONSerialiser<>(Employee.class).deserialise(in)) {
+                    records.forEach(employee -> {
+                        assertNull(employee.getUid());
+                        ids.add(employee.getId());
+                    });
+                }
+            }
+            assertEquals(100, ids.size());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+}
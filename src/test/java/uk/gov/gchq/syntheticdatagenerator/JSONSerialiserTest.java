@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.JSONSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.serialise.JsonStyle;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.utils.Xoshiro256Random;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief JSON serialiser test
+ */
+public class JSONSerialiserTest {
+    private static final int RECORDS = 20;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * @brief This test evaluates whether compact and pretty output hold the same records and compact is smaller
+     * @throws IOException if the records can't be serialised
+     */
+    @Test
+    public void compactAndPrettyHoldTheSameRecords() throws IOException {
+        String compact = serialise(JsonStyle.COMPACT);
+        String pretty = serialise(JsonStyle.PRETTY);
+        JsonNode records = MAPPER.readTree(compact);
+        assertEquals(RECORDS, records.size());
+        assertEquals(records, MAPPER.readTree(pretty));
+        assertTrue(compact.length() < pretty.length());
+    }
+
+    /**
+     * @brief This test evaluates whether NDJSON output holds one record per line
+     * @throws IOException if the records can't be serialised
+     */
+    @Test
+    public void ndjsonWritesOneRecordPerLine() throws IOException {
+        JsonNode records = MAPPER.readTree(serialise(JsonStyle.COMPACT));
+        String[] lines = serialise(JsonStyle.NDJSON).split("\n");
+        assertEquals(RECORDS, lines.length);
+        for (int i = 0; i < RECORDS; i++) {
+            assertEquals(records.get(i), MAPPER.readTree(lines[i]));
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether every style is read back to the records it was written from
+     * @throws IOException if the records can't be serialised or deserialised
+     */
+    @Test
+    public void everyStyleIsReadBack() throws IOException {
+        String expected = serialise(JsonStyle.COMPACT);
+        for (JsonStyle style : JsonStyle.values()) {
+            JSONSerialiser<Employee> serialiser = new JSONSerialiser<>(Employee.class, style);
+            byte[] bytes = serialise(style).getBytes(StandardCharsets.UTF_8);
+            try (Stream<Employee> records = serialiser.deserialise(new ByteArrayInputStream(bytes))) {
+                assertEquals(style.name(), expected, serialise(records, JsonStyle.COMPACT));
+            }
+        }
+    }
+
+    private static String serialise(final JsonStyle style) throws IOException {
+        Random random = new Xoshiro256Random(3L);
+        return serialise(Stream.generate(() -> Employee.generate(random)).limit(RECORDS), style);
+    }
+
+    private static String serialise(final Stream<Employee> records, final JsonStyle style) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JSONSerialiser<>(Employee.class, style).serialise(records, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Manifest test
+ */
+public class ManifestTest {
+
+    /**
+     * @brief This test evaluates whether the shards of a run stitch back into the files of the same run left unsharded
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void shardsStitchIntoUnshardedRun() throws IOException {
+        File directory = new File("target/manifest-test");
+        File sharded = new File(directory, "sharded");
+        File whole = new File(directory, "whole");
+        try {
+            String[] run = {"500", "5", "2", "0", "e", "--seed=3", "--ids=sequential", "--data-backend=native", "--output-format=csv"};
+            CreateData.main(concat(sharded.getPath(), run, "--shard-index=1", "--shard-count=2"));
+            CreateData.main(concat(sharded.getPath(), run, "--shard-index=0", "--shard-count=2"));
+            CreateData.main(concat(whole.getPath(), run));
+
+            Manifest second = Manifest.read(new File(sharded, "manifest-1-of-2.json"));
+            assertEquals(3, second.getFiles().size());
+            assertEquals(2, second.getFiles().get(0).getIndex());
+            assertEquals(200L, second.getFiles().get(0).getFirstRecord());
+
+            Manifest stitched = Manifest.stitch(sharded);
+            Manifest expected = Manifest.read(new File(whole, "manifest.json"));
+            assertEquals(5, stitched.getFiles().size());
+            for (int i = 0; i < 5; i++) {
+                Manifest.DataFile file = stitched.getFiles().get(i);
+                assertEquals(i, file.getIndex());
+                assertEquals(expected.getFiles().get(i).getSeed(), file.getSeed());
+                assertEquals(expected.getFiles().get(i).getBytes(), file.getBytes());
+                assertArrayEquals(FileUtils.readFileToByteArray(new File(whole, file.getName())),
+                        FileUtils.readFileToByteArray(new File(sharded, file.getName())));
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether stitching fails when the manifest of a shard is missing
+     * @throws IOException if the files can't be read
+     */
+    @Test(expected = IOException.class)
+    public void stitchNeedsEveryShard() throws IOException {
+        File directory = new File("target/manifest-missing-test");
+        try {
+            CreateData.main(directory.getPath(), "20", "4", "1", "0", "e", "--data-backend=native",
+                    "--shard-index=2", "--shard-count=3");
+            assertFalse(new File(directory, "manifest.json").exists());
+            Manifest.stitch(directory);
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether no manifest is written when a file of the run fails
+     * @throws IOException if the directory can't be set up
+     */
+    @Test
+    public void failedRunHasNoManifest() throws IOException {
+        File directory = new File("target/manifest-failed-test");
+        try {
+            // a directory in the way of the second file makes it fail
+            FileUtils.forceMkdir(new File(directory, "worker_e1.json"));
+            CreateData.main(directory.getPath(), "20", "2", "1", "1", "e", "--data-backend=native");
+            assertTrue(new File(directory, "worker_e0.json").isFile());
+            assertFalse(new File(directory, "manifest.json").exists());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * @brief This method evaluates whether a checkpointed rerun skips written files and resumes a partial Avro file
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void checkpointResumesInterruptedRun() throws IOException {
+        File directory = new File("target/checkpoint-test");
+        File resumed = new File(directory, "resumed");
+        File whole = new File(directory, "whole");
+        try {
+            String[] run = {"800", "2", "1", "0", "e", "--seed=5", "--data-backend=native", "--avro-sync-interval=4096"};
+            CreateData.main(concat(whole.getPath(), run));
+            CreateData.main(concat(resumed.getPath(), run, "--checkpoint"));
+            File first = new File(resumed, "worker_e0.avro");
+            File second = new File(resumed, "worker_e1.avro");
+            assertArrayEquals(FileUtils.readFileToByteArray(new File(whole, "worker_e1.avro")),
+                    FileUtils.readFileToByteArray(second));
+
+            // the first file is listed as written, so it is not touched again
+            byte[] marked = FileUtils.readFileToByteArray(first);
+            marked[marked.length - 1]++;
+            FileUtils.writeByteArrayToFile(first, marked);
+            // the second file was cut off half way through a block
+            byte[] complete = FileUtils.readFileToByteArray(second);
+            byte[] cut = new byte[complete.length / 2];
+            System.arraycopy(complete, 0, cut, 0, cut.length);
+            FileUtils.writeByteArrayToFile(new File(resumed, "worker_e1.avro.partial"), cut);
+            FileUtils.forceDelete(second);
+
+            CreateData.main(concat(resumed.getPath(), run, "--checkpoint"));
+            assertArrayEquals(marked, FileUtils.readFileToByteArray(first));
+            assertArrayEquals(complete, FileUtils.readFileToByteArray(second));
+            assertFalse(new File(resumed, "worker_e1.avro.partial").exists());
+            assertEquals(2, Manifest.read(new File(resumed, "manifest.json")).getFiles().size());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * @brief This method evaluates whether a checkpointed rerun with settings changing the records writes every file again
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void checkpointRewritesFilesOfOtherSettings() throws IOException {
+        File directory = new File("target/checkpoint-settings-test");
+        File rerun = new File(directory, "rerun");
+        File fresh = new File(directory, "fresh");
+        try {
+            String[] run = {"100", "2", "1", "1", "e", "--seed=5", "--data-backend=native", "--checkpoint"};
+            CreateData.main(concat(rerun.getPath(), run));
+            CreateData.main(concat(rerun.getPath(), run, "--random=splittable"));
+            CreateData.main(concat(fresh.getPath(), run, "--random=splittable"));
+            for (String name : new String[]{"worker_e0.json", "worker_e1.json"}) {
+                assertArrayEquals(FileUtils.readFileToByteArray(new File(fresh, name)),
+                        FileUtils.readFileToByteArray(new File(rerun, name)));
+            }
+            assertEquals("SPLITTABLE", Manifest.read(new File(rerun, "manifest.json")).getSettings().get("random"));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private static String[] concat(final String path, final String[] run, final String... extra) {
+        String[] args = new String[1 + run.length + extra.length];
+        args[0] = path;
+        System.arraycopy(run, 0, args, 1, run.length);
+        System.arraycopy(extra, 0, args, 1 + run.length, extra.length);
+        return args;
+    }
+}
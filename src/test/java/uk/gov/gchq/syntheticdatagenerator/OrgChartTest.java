@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.JSONSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Manager;
+import uk.gov.gchq.syntheticdatagenerator.types.OrgChart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Organisation chart test
+ */
+public class OrgChartTest {
+
+    /**
+     * @brief This test evaluates whether the chart has one top manager and no Department manager has more reports than the span
+     */
+    @Test
+    public void managersHaveAtMostSpanReports() {
+        OrgChart chart = OrgChart.build(1_000, 10, 4L);
+        assertEquals(111, chart.getNumberOfManagers());
+        assertEquals(3, chart.getNumberOfLevels());
+        assertEquals(0, chart.getManagers(0).length);
+        Map<String, Integer> reports = new HashMap<>();
+        for (long record = 1; record < 1_000; record++) {
+            Manager[] managers = chart.getManagers(record);
+            assertEquals(3, managers.length);
+            reports.merge(managers[1].getUid(), 1, Integer::sum);
+        }
+        for (int count : reports.values()) {
+            assertTrue(count + " reports", count <= 10);
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether the managers of a chart too large to hold in memory get unique uids and
+     * chains reaching the top manager
+     */
+    @Test
+    public void largeChartIsWorkedOutOnDemand() {
+        OrgChart chart = OrgChart.build(10_000_000_000L, 10, 4L);
+        assertEquals(10, chart.getNumberOfLevels());
+        Set<String> uids = new HashSet<>();
+        for (long manager = 0; manager < 100_000; manager++) {
+            assertTrue(uids.add(chart.getUid(manager)));
+        }
+        long last = chart.getNumberOfManagers() - 1L;
+        assertTrue(uids.add(chart.getUid(last)));
+        Manager manager = chart.getManagers(9_999_999_999L)[2];
+        int depth = 1;
+        while (manager.hasManagers()) {
+            manager = manager.getManager()[0];
+            depth++;
+        }
+        assertEquals(10, depth);
+        assertEquals(chart.getUid(0), manager.getUid());
+    }
+
+    /**
+     * @brief This test evaluates whether every manager of every record written by CreateData is a generated record
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void managersAreGeneratedRecords() throws IOException {
+        File directory = new File("target/org-chart-test");
+        try {
+            CreateData.main(directory.getPath(), "200", "2", "2", "1", "e", "--org-chart", "--data-backend=native");
+            List<Employee> employees = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                try (InputStream in = Files.newInputStream(new File(directory, "worker_e" + i + ".json").toPath());
+                     Stream<Employee> records = new JSONSerialiser<>(Employee.class).deserialise(in)) {
+                    records.forEach(employees::add);
+                }
+            }
+            assertEquals(200, employees.size());
+            Set<String> uids = new HashSet<>();
+            employees.forEach(employee -> uids.add(employee.getUid()));
+            for (Employee employee : employees) {
+                assertManagersIn(uids, employee.getManager());
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private static void assertManagersIn(final Set<String> uids, final Manager[] managers) {
+        for (Manager manager : managers) {
+            assertTrue(manager.getUid(), uids.contains(manager.getUid()));
+            assertManagersIn(uids, manager.getManager());
+        }
+    }
+}
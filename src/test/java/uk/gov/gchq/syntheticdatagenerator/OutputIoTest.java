@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.gov.gchq.syntheticdatagenerator.utils.MappedOutputStream;
+import uk.gov.gchq.syntheticdatagenerator.utils.OutputIo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @brief Output IO test
+ */
+public class OutputIoTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * @brief This test evaluates whether every way of writing leaves the same bytes in the file, including after an append
+     * @throws IOException if a file can't be written
+     */
+    @Test
+    public void everyWayWritesTheSameBytes() throws IOException {
+        byte[] expected = new byte[100_000];
+        new Random(1L).nextBytes(expected);
+        for (OutputIo io : OutputIo.values()) {
+            File file = folder.newFile(io.name());
+            // small buffers and regions so the writes cross their ends
+            write(io, file, false, Arrays.copyOf(expected, 60_000));
+            write(io, file, true, Arrays.copyOfRange(expected, 60_000, expected.length));
+            assertArrayEquals(io.name(), expected, Files.readAllBytes(file.toPath()));
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether a mapped file is cut back to the bytes written, not left at a region boundary
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public void mappedFileIsCutBack() throws IOException {
+        File file = folder.newFile();
+        try (MappedOutputStream out = new MappedOutputStream(file, false, 4_096)) {
+            out.write(new byte[10_000]);
+            out.write(1);
+            assertEquals(3, out.getMapCount());
+        }
+        assertEquals(10_001, file.length());
+    }
+
+    private static void write(final OutputIo io, final File file, final boolean append, final byte[] bytes)
+            throws IOException {
+        Random random = new Random(2L);
+        try (OutputStream out = io.open(file, append, 1_000, 7_000)) {
+            int position = 0;
+            while (position < bytes.length) {
+                int length = Math.min(bytes.length - position, random.nextInt(3_000));
+                if (length == 1) {
+                    out.write(bytes[position]);
+                } else {
+                    out.write(bytes, position, length);
+                }
+                position += length;
+            }
+        }
+    }
+}
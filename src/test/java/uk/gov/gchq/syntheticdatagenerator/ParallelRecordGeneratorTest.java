@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.utils.SeedHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * @brief Parallel record generator test
+ */
+public class ParallelRecordGeneratorTest {
+
+    /**
+     * @brief This test evaluates whether the same seed and worker count always give the same records
+     */
+    @Test
+    public void sameSeedAndWorkersGiveSameRecords() {
+        List<Long> first = generate(3, 2_500);
+        List<Long> second = generate(3, 2_500);
+        assertEquals(2_500, first.size());
+        assertEquals(first, second);
+    }
+
+    /**
+     * @brief This test evaluates whether seekable records are the same whatever the number of workers
+     */
+    @Test
+    public void seekableRecordsIgnoreWorkers() {
+        List<Long> single = generateSeekable(1, 2_500);
+        assertEquals(single, generateSeekable(3, 2_500));
+        assertEquals(new Random(SeedHelper.derive(42L, 1_234)).nextLong(), (long) single.get(1_234));
+    }
+
+    /**
+     * @brief This test evaluates whether files reading at once from one shared thread give the records of their own pools
+     */
+    @Test
+    public void sharedPoolGivesSameRecords() {
+        ExecutorService pool = Executors.newFixedThreadPool(1, CreateData.createDaemonThreadFactory());
+        try {
+            ParallelRecordGenerator<Long> first = new ParallelRecordGenerator<>(Random::nextLong, 2_500, 3, 42L, Random::new, 100, 2, false, pool);
+            ParallelRecordGenerator<Long> second = new ParallelRecordGenerator<>(Random::nextLong, 2_500, 3, 42L, Random::new, 100, 2, false, pool);
+            List<Long> firstRecords = new ArrayList<>();
+            List<Long> secondRecords = new ArrayList<>();
+            while (first.hasNext() || second.hasNext()) {
+                if (first.hasNext()) {
+                    firstRecords.add(first.next());
+                }
+                if (second.hasNext()) {
+                    secondRecords.add(second.next());
+                }
+            }
+            List<Long> expected = generate(3, 2_500);
+            assertEquals(expected, firstRecords);
+            assertEquals(expected, secondRecords);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether the workers draw from other random sources than the seekable records
+     */
+    @Test
+    public void workersDoNotShareSeekableSeeds() {
+        List<Long> workers = generate(1, 10);
+        List<Long> seekable = generateSeekable(1, 10);
+        assertNotEquals(seekable.get(0), workers.get(0));
+        assertNotEquals(new Random(SeedHelper.derive(42L, 0)).nextLong(), (long) workers.get(0));
+    }
+
+    /**
+     * @brief This test evaluates whether a single file is byte identical when generated twice with several workers
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void parallelFileIsReproducible() throws IOException {
+        File directory = new File("target/parallel-test");
+        try {
+            CreateData.main(directory + "/a", "300", "1", "1", "0", "e", "--workers-per-file=3");
+            CreateData.main(directory + "/b", "300", "1", "1", "0", "e", "--workers-per-file=3");
+            assertArrayEquals(FileUtils.readFileToByteArray(new File(directory, "a/worker_e0.avro")),
+                    FileUtils.readFileToByteArray(new File(directory, "b/worker_e0.avro")));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private static List<Long> generateSeekable(final int workers, final long records) {
+        ParallelRecordGenerator<Long> generator = new ParallelRecordGenerator<>(Random::nextLong, records, workers, 42L, Random::new, 100, 2, true);
+        try (Stream<Long> stream = generator.stream()) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    private static List<Long> generate(final int workers, final long records) {
+        ParallelRecordGenerator<Long> generator = new ParallelRecordGenerator<>(Random::nextLong, records, workers, 42L, Random::new, 100, 2);
+        try (Stream<Long> stream = generator.stream()) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+}
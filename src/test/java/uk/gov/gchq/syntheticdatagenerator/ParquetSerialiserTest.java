@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.InputFile;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.ParquetSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Manager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Parquet serialiser test
+ */
+public class ParquetSerialiserTest {
+
+    /**
+     * @brief This test evaluates whether CreateData writes a readable Parquet file with dictionary encoded enum columns
+     * @throws IOException if the file can't be read
+     */
+    @Test
+    public void createDataWritesParquet() throws IOException {
+        File directory = new File("target/parquet-test");
+        try {
+            CreateData.main(directory.getPath(), "300", "1", "1", "0", "e", "--output-format=parquet", "--parquet-page-size=4096");
+            InputFile file = HadoopInputFile.fromPath(new Path(new File(directory, "worker_e0.parquet").toURI()), new Configuration());
+
+            try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(file).withDataModel(GenericData.get()).build()) {
+                GenericRecord first = reader.read();
+                assertNotNull(first.get("nationality"));
+                int records = 1;
+                while (null != reader.read()) {
+                    records++;
+                }
+                assertEquals(300, records);
+            }
+
+            try (ParquetFileReader reader = ParquetFileReader.open(file)) {
+                List<String> enumColumns = Arrays.asList("nationality", "grade", "department", "workLocation.workLocationName");
+                for (BlockMetaData block : reader.getFooter().getBlocks()) {
+                    for (ColumnChunkMetaData column : block.getColumns()) {
+                        if (enumColumns.contains(column.getPath().toDotString())) {
+                            assertTrue(column.getPath().toDotString(), column.getEncodings().contains(Encoding.PLAIN_DICTIONARY)
+                                    || column.getEncodings().contains(Encoding.RLE_DICTIONARY));
+                        }
+                    }
+                }
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether the records written to a Parquet file are read back unchanged, managers
+     * included
+     * @throws IOException if the file can't be written or read
+     */
+    @Test
+    public void roundTrip() throws IOException {
+        ParquetSerialiser<Employee> serialiser = new ParquetSerialiser<>(Employee.class);
+        Random random = new Random(3L);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            employees.add(Employee.generate(random));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        serialiser.serialise(employees.stream(), output);
+
+        try (Stream<Employee> read = serialiser.deserialise(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(employees.stream().map(Employee::toString).collect(Collectors.toList()),
+                    read.map(Employee::toString).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether the manager chains of an organisation chart deeper than the default number
+     * of levels reach the top manager in a Parquet file
+     * @throws IOException if the file can't be written or read
+     */
+    @Test
+    public void deepOrgChartKeepsWholeChain() throws IOException {
+        File directory = new File("target/parquet-org-chart-test");
+        try {
+            CreateData.main(directory.getPath(), "300", "1", "1", "0", "e", "--output-format=parquet", "--org-chart",
+                    "--org-span=3", "--data-backend=native");
+            List<Employee> employees;
+            try (InputStream in = new FileInputStream(new File(directory, "worker_e0.parquet"));
+                 Stream<Employee> records = new ParquetSerialiser<>(Employee.class).deserialise(in)) {
+                employees = records.collect(Collectors.toList());
+            }
+            assertEquals(300, employees.size());
+            String top = employees.get(0).getUid();
+            Employee staff = employees.get(299);
+            assertEquals(3, staff.getManager().length);
+            for (Manager manager : staff.getManager()) {
+                int depth = 1;
+                while (manager.hasManagers()) {
+                    manager = manager.getManager()[0];
+                    depth++;
+                }
+                assertEquals(6, depth);
+                assertEquals(top, manager.getUid());
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.utils.RandomEngine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Random engine test
+ */
+public class RandomEngineTest {
+
+    /**
+     * @brief This test evaluates whether every engine gives the same values for the same seed
+     */
+    @Test
+    public void sameSeedGivesSameValues() {
+        for (RandomEngine engine : RandomEngine.values()) {
+            Random first = engine.create(7L);
+            Random second = engine.create(7L);
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(engine.name(), first.nextLong(), second.nextLong());
+                int value = first.nextInt(10);
+                assertEquals(engine.name(), value, second.nextInt(10));
+                assertTrue(engine.name(), value >= 0 && value < 10);
+            }
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether a seeded run always produces the same file
+     * @throws IOException if the files can't be read
+     */
+    @Test
+    public void seededRunIsReproducible() throws IOException {
+        File directory = new File("target/random-engine-test");
+        try {
+            CreateData.main(directory + "/a", "50", "1", "1", "0", "t", "--seed=3", "--random=splittable");
+            CreateData.main(directory + "/b", "50", "1", "1", "0", "t", "--seed=3", "--random=splittable");
+            assertArrayEquals(FileUtils.readFileToByteArray(new File(directory, "a/worker_t0.avro")),
+                    FileUtils.readFileToByteArray(new File(directory, "b/worker_t0.avro")));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import com.github.javafaker.Faker;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.types.ThreadLocalFaker;
+import uk.gov.gchq.syntheticdatagenerator.utils.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ThreadFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Thread local Faker test
+ */
+public class ThreadLocalFakerTest {
+
+    /**
+     * @brief This test evaluates whether a thread keeps its Faker for a new random source and draws from the new source
+     */
+    @Test
+    public void fakerIsReusedForNewRandom() {
+        Faker first = ThreadLocalFaker.getFaker(new Random(1L));
+        long constructions = ThreadLocalFaker.getConstructionCount();
+        Faker second = ThreadLocalFaker.getFaker(new Random(2L));
+        assertSame(first, second);
+        assertEquals(constructions, ThreadLocalFaker.getConstructionCount());
+        Faker fresh = new Faker(new Locale("en-GB"), new Random(2L));
+        assertEquals(fresh.address().zipCode(), second.address().zipCode());
+        ThreadLocalFaker.unload();
+    }
+
+    /**
+     * @brief This test evaluates whether virtual threads borrow Fakers from a pool rather than building one each
+     * @details Only runs on Java versions with virtual threads, elsewhere it checks none are made up
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    @Test
+    public void virtualThreadsShareFakers() throws InterruptedException {
+        if (!VirtualThreads.isSupported()) {
+            assertFalse(VirtualThreads.isVirtual(Thread.currentThread()));
+            return;
+        }
+        String expected = new Faker(new Locale("en-GB"), new Random(3L)).address().zipCode();
+        long constructions = ThreadLocalFaker.getConstructionCount();
+        ThreadFactory factory = VirtualThreads.factory("faker-test-");
+        List<String> zipCodes = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 100; i++) {
+            Thread thread = factory.newThread(() -> zipCodes.add(ThreadLocalFaker.withFaker(new Random(3L),
+                    faker -> faker.address().zipCode())));
+            assertTrue(VirtualThreads.isVirtual(thread));
+            thread.start();
+            thread.join();
+        }
+        assertEquals(Collections.nCopies(100, expected), zipCodes);
+        assertEquals(constructions + 1, ThreadLocalFaker.getConstructionCount());
+    }
+}
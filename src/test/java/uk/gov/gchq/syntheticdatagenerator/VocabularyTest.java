@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.types.DataBackend;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.Vocabulary;
+import uk.gov.gchq.syntheticdatagenerator.utils.Xoshiro256Random;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief Vocabulary test
+ */
+public class VocabularyTest {
+
+    /**
+     * @brief This test evaluates whether equal cities and counties of different records are the same string
+     */
+    @Test
+    public void recordsShareWords() {
+        Random random = new Xoshiro256Random(3L);
+        Map<String, String> cities = new IdentityHashMap<>();
+        Map<String, String> counties = new IdentityHashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            Employee employee = Employee.generate(random);
+            cities.put(employee.getAddress().getCity(), employee.getAddress().getCity());
+            counties.put(employee.getWorkLocation().getAddress().getState(), employee.getWorkLocation().getAddress().getState());
+        }
+        // without sharing there would be one string per record
+        assertTrue(cities.size() + " distinct city strings", cities.size() <= 4_096);
+        assertEquals(70, counties.size());
+    }
+
+    /**
+     * @brief This test evaluates whether the bundled word lists are the ones of Faker and native post codes follow the en-GB pattern
+     */
+    @Test
+    public void nativeBackendMatchesFaker() {
+        Pattern postcode = Pattern.compile("[A-PR-UWYZ]([A-HK-Y][0-9][ABEHMNPRVWXY0-9]?|[0-9][ABCDEFGHJKPSTUW0-9]?) [0-9][ABD-HJLNP-UW-Z]{2}");
+        Random fakerRandom = new Xoshiro256Random(9L);
+        Random nativeRandom = new Xoshiro256Random(9L);
+        Random random = new Xoshiro256Random(10L);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(Vocabulary.faker().fullName(fakerRandom), Vocabulary.embedded().fullName(nativeRandom));
+            assertEquals(Vocabulary.faker().streetName(fakerRandom), Vocabulary.embedded().streetName(nativeRandom));
+            assertEquals(Vocabulary.faker().city(fakerRandom), Vocabulary.embedded().city(nativeRandom));
+            assertEquals(Vocabulary.faker().county(fakerRandom), Vocabulary.embedded().county(nativeRandom));
+            String code = Employee.generate(random, DataBackend.NATIVE).getAddress().getZipCode();
+            assertTrue(code, postcode.matcher(code).matches());
+        }
+    }
+}
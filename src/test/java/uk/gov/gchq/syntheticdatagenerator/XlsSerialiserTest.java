@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.syntheticdatagenerator;
+
+import jxl.Sheet;
+import jxl.Workbook;
+import jxl.read.biff.BiffException;
+import org.junit.Test;
+import uk.gov.gchq.syntheticdatagenerator.serialise.XlsSerialiser;
+import uk.gov.gchq.syntheticdatagenerator.types.DataBackend;
+import uk.gov.gchq.syntheticdatagenerator.types.Employee;
+import uk.gov.gchq.syntheticdatagenerator.types.IdScheme;
+import uk.gov.gchq.syntheticdatagenerator.utils.Xoshiro256Random;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @brief XLS serialiser test
+ */
+public class XlsSerialiserTest {
+
+    /**
+     * @brief This test evaluates whether full sheets roll over to new ones, each starting with the header row
+     * @throws IOException if the records can't be serialised
+     * @throws BiffException if the workbook can't be read
+     */
+    @Test
+    public void fullSheetsRollOver() throws IOException, BiffException {
+        Random random = new Xoshiro256Random(7L);
+        List<Employee> employees = Stream.generate(() -> Employee.generate(random)).limit(25).collect(Collectors.toList());
+        XlsSerialiser<Employee> serialiser = new XlsSerialiser<>(Employee.class, 2, 11);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialiser.serialise(employees.stream(), out);
+
+        Workbook workbook = Workbook.getWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        try {
+            assertEquals(3, workbook.getNumberOfSheets());
+            assertEquals(11, workbook.getSheet(0).getRows());
+            assertEquals(6, workbook.getSheet(2).getRows());
+            List<String> headers = serialiser.getHeaders();
+            Sheet last = workbook.getSheet(2);
+            assertEquals(headers.get(0), last.getCell(0, 0).getContents());
+            Employee employee = employees.get(24);
+            assertEquals(employee.getName(), last.getCell(headers.indexOf("name"), 5).getContents());
+            assertEquals(String.valueOf(employee.getSalaryAmount()), last.getCell(headers.indexOf("salaryAmount"), 5).getContents());
+        } finally {
+            workbook.close();
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether permuted ids above 2^53, which a number cell can't hold exactly, keep every digit
+     * @throws IOException if the records can't be serialised
+     * @throws BiffException if the workbook can't be read
+     */
+    @Test
+    public void largeIdsKeepEveryDigit() throws IOException, BiffException {
+        Random random = new Xoshiro256Random(7L);
+        List<Employee> employees = Stream.generate(() -> Employee.generate(random)).limit(20).collect(Collectors.toList());
+        for (int i = 0; i < employees.size(); i++) {
+            employees.get(i).setId(IdScheme.PERMUTED.getDerivation().id(i, 11L));
+        }
+        // neighbours of a large id round to the same double
+        employees.get(0).setId((1L << 62) + 1);
+        employees.get(1).setId((1L << 62) + 2);
+        XlsSerialiser<Employee> serialiser = new XlsSerialiser<>(Employee.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialiser.serialise(employees.stream(), out);
+
+        Workbook workbook = Workbook.getWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        try {
+            int column = serialiser.getHeaders().indexOf("id");
+            boolean large = false;
+            for (int i = 0; i < employees.size(); i++) {
+                long id = employees.get(i).getId();
+                large |= Math.abs(id) > 1L << 53;
+                assertEquals(Long.toString(id), workbook.getSheet(0).getCell(column, i + 1).getContents());
+            }
+            assertTrue(large);
+        } finally {
+            workbook.close();
+        }
+    }
+
+    /**
+     * @brief This test evaluates whether a workbook too large for the allocation table of the file header, and text
+     * outside of Latin-1, are read back
+     * @throws IOException if the records can't be serialised
+     * @throws BiffException if the workbook can't be read
+     */
+    @Test
+    public void largeWorkbookIsReadable() throws IOException, BiffException {
+        Random random = new Xoshiro256Random(7L);
+        List<Employee> employees = Stream.generate(() -> Employee.generate(random, DataBackend.NATIVE, true))
+                .limit(10_000).collect(Collectors.toList());
+        employees.get(9_999).setName("Zo\u00eb \u674e");
+        XlsSerialiser<Employee> serialiser = new XlsSerialiser<>(Employee.class, 2, 4_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialiser.serialise(employees.stream(), out);
+        // more than the 109 sectors of allocation table the header can point at
+        assertTrue(out.size() > 109 * 128 * 512);
+
+        Workbook workbook = Workbook.getWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        try {
+            assertEquals(3, workbook.getNumberOfSheets());
+            Sheet last = workbook.getSheet(2);
+            assertEquals(10_000 - 2 * 3_999 + 1, last.getRows());
+            assertEquals("Zo\u00eb \u674e", last.getCell(serialiser.getHeaders().indexOf("name"), last.getRows() - 1).getContents());
+        } finally {
+            workbook.close();
+        }
+    }
+}